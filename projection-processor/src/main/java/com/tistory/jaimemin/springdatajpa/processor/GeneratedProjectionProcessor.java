@@ -0,0 +1,372 @@
+package com.tistory.jaimemin.springdatajpa.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.beans.Introspector;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * @GeneratedProjection이 붙은 closed interface projection의 구현 클래스 생성
+ *
+ * UsernameOnly -> UsernameOnly_Impl (필드 + getter), UsernameOnly_Mapper (Object[] row -> UsernameOnly_Impl)
+ * 중첩 projection 타입은 애노테이션이 없어도 _Impl을 같이 생성
+ *
+ * 컬럼 순서는 런타임의 ClosedProjectionQuery와 동일 (getter 이름순, 중첩은 깊이 우선)
+ * 중첩 projection은 join 대상의 id 컬럼이 먼저 오고 그 다음 중첩 property
+ */
+@SupportedAnnotationTypes(GeneratedProjectionProcessor.ANNOTATION)
+public class GeneratedProjectionProcessor extends AbstractProcessor {
+
+    static final String ANNOTATION = "com.tistory.jaimemin.springdatajpa.repository.projection.GeneratedProjection";
+
+    private static final String MAPPER_INTERFACE = "com.tistory.jaimemin.springdatajpa.repository.projection.ProjectionMapper";
+
+    private final Set<String> generatedImpls = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.INTERFACE) {
+                    error(element, "@GeneratedProjection can only be applied to interfaces");
+                    continue;
+                }
+
+                try {
+                    Node root = node((TypeElement) element, "", new int[]{0});
+                    writeImpls(root, element);
+                    writeMapper(root, element);
+                } catch (IllegalArgumentException e) {
+                    error(element, e.getMessage());
+                } catch (IOException e) {
+                    error(element, "failed to generate projection: " + e.getMessage());
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private Node node(TypeElement type, String prefix, int[] column) {
+        Node node = new Node(type, column[0]);
+        List<ExecutableElement> methods = new ArrayList<>(
+                ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type)));
+        methods.sort(Comparator.comparing(method -> method.getSimpleName().toString()));
+
+        for (ExecutableElement method : methods) {
+            String property = propertyOf(method);
+
+            if (property == null) {
+                continue;
+            }
+
+            TypeMirror returnType = method.getReturnType();
+            String path = prefix + property;
+            TypeElement nestedType = nestedProjectionOf(returnType);
+
+            if (nestedType != null) {
+                int presence = column[0]++;
+                node.properties.add(new Property(property, path, method.getSimpleName().toString(), returnType,
+                        node(nestedType, path + ".", column), presence));
+            } else {
+                node.properties.add(new Property(property, path, method.getSimpleName().toString(), returnType, null, column[0]++));
+            }
+        }
+
+        return node;
+    }
+
+    private String propertyOf(ExecutableElement method) {
+        Set<Modifier> modifiers = method.getModifiers();
+
+        if (!modifiers.contains(Modifier.ABSTRACT) || modifiers.contains(Modifier.STATIC) || !method.getParameters().isEmpty()) {
+            return null;
+        }
+
+        String name = method.getSimpleName().toString();
+
+        if (name.startsWith("get") && name.length() > 3) {
+            return Introspector.decapitalize(name.substring(3));
+        }
+
+        if (name.startsWith("is") && name.length() > 2 && method.getReturnType().getKind() == TypeKind.BOOLEAN) {
+            return Introspector.decapitalize(name.substring(2));
+        }
+
+        return null;
+    }
+
+    private TypeElement nestedProjectionOf(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+
+        TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+
+        if (element.getKind() != ElementKind.INTERFACE || element.getQualifiedName().toString().startsWith("java.")) {
+            return null;
+        }
+
+        return element;
+    }
+
+    private void writeImpls(Node node, Element origin) throws IOException {
+        for (Property property : node.properties) {
+            if (property.nested != null) {
+                writeImpls(property.nested, origin);
+            }
+        }
+
+        String implName = implName(node.type);
+
+        if (!generatedImpls.add(implName)) {
+            return;
+        }
+
+        String packageName = packageOf(node.type);
+        String simpleName = implName.substring(implName.lastIndexOf('.') + 1);
+        StringBuilder source = new StringBuilder();
+
+        header(source, packageName);
+        source.append("public final class ").append(simpleName)
+                .append(" implements ").append(node.type.getQualifiedName()).append(" {\n\n");
+
+        for (Property property : node.properties) {
+            source.append("    private final ").append(property.type).append(' ').append(property.name).append(";\n\n");
+        }
+
+        List<String> parameters = new ArrayList<>();
+
+        for (Property property : node.properties) {
+            parameters.add(property.type + " " + property.name);
+        }
+
+        source.append("    public ").append(simpleName).append('(').append(String.join(", ", parameters)).append(") {\n");
+
+        for (Property property : node.properties) {
+            source.append("        this.").append(property.name).append(" = ").append(property.name).append(";\n");
+        }
+
+        source.append("    }\n");
+
+        for (Property property : node.properties) {
+            source.append("\n    @Override\n")
+                    .append("    public ").append(property.type).append(' ').append(property.getter).append("() {\n")
+                    .append("        return ").append(property.name).append(";\n")
+                    .append("    }\n");
+        }
+
+        List<String> values = new ArrayList<>();
+
+        for (Property property : node.properties) {
+            values.add(property.name + "=\" + " + property.name + " + \"");
+        }
+
+        source.append("\n    @Override\n")
+                .append("    public String toString() {\n")
+                .append("        return \"").append(simpleName).append('(').append(String.join(", ", values)).append(")\";\n")
+                .append("    }\n")
+                .append("}\n");
+
+        write(implName, source, origin);
+    }
+
+    private void writeMapper(Node root, Element origin) throws IOException {
+        String packageName = packageOf(root.type);
+        String mapperName = flatName(root.type) + "_Mapper";
+        String projectionType = root.type.getQualifiedName().toString();
+        List<String> paths = new ArrayList<>();
+        collectPaths(root, paths);
+
+        StringBuilder source = new StringBuilder();
+        header(source, packageName);
+        source.append("public final class ").append(mapperName)
+                .append(" implements ").append(MAPPER_INTERFACE).append('<').append(projectionType).append("> {\n\n");
+
+        List<String> quoted = new ArrayList<>();
+
+        for (String path : paths) {
+            quoted.add('"' + path + '"');
+        }
+
+        source.append("    private static final java.util.List<String> PATHS = java.util.List.of(")
+                .append(String.join(", ", quoted)).append(");\n\n")
+                .append("    @Override\n")
+                .append("    public java.util.List<String> paths() {\n")
+                .append("        return PATHS;\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public ").append(projectionType).append(" map(Object[] row) {\n")
+                .append("        return ").append(factoryMethod(root)).append("(row);\n")
+                .append("    }\n");
+
+        writeFactories(root, null, source, new HashSet<>());
+        source.append("}\n");
+
+        write(packageName.isEmpty() ? mapperName : packageName + "." + mapperName, source, origin);
+    }
+
+    /**
+     * 중첩 projection은 LEFT JOIN 대상이 없으면 (id 컬럼이 null) null
+     * 대상이 있으면 나머지 컬럼이 전부 null이어도 생성
+     *
+     * @param presence 중첩 projection의 id 컬럼 (root면 null)
+     */
+    private void writeFactories(Node node, Integer presence, StringBuilder source, Set<String> written) {
+        if (!written.add(factoryMethod(node))) {
+            return;
+        }
+
+        String implName = implName(node.type);
+        List<String> arguments = new ArrayList<>();
+
+        source.append("\n    private static ").append(implName).append(' ').append(factoryMethod(node)).append("(Object[] row) {\n");
+
+        if (presence != null) {
+            source.append("        if (row[").append(presence).append("] == null) {\n")
+                    .append("            return null;\n")
+                    .append("        }\n\n");
+        }
+
+        for (Property property : node.properties) {
+            if (property.nested != null) {
+                arguments.add(factoryMethod(property.nested) + "(row)");
+            } else {
+                arguments.add("(" + boxedType(property.type) + ") row[" + property.column + "]");
+            }
+        }
+
+        source.append("        return new ").append(implName).append('(').append(String.join(", ", arguments)).append(");\n")
+                .append("    }\n");
+
+        for (Property property : node.properties) {
+            if (property.nested != null) {
+                writeFactories(property.nested, property.column, source, written);
+            }
+        }
+    }
+
+    private void collectPaths(Node node, List<String> paths) {
+        for (Property property : node.properties) {
+            paths.add(property.path);
+
+            if (property.nested != null) {
+                collectPaths(property.nested, paths);
+            }
+        }
+    }
+
+    private String boxedType(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).getQualifiedName().toString();
+        }
+
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    private String factoryMethod(Node node) {
+        return "create" + flatName(node.type).replace("_", "") + "At" + node.start;
+    }
+
+    private String implName(TypeElement type) {
+        String packageName = packageOf(type);
+        String simpleName = flatName(type) + "_Impl";
+
+        return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    }
+
+    private String packageOf(TypeElement type) {
+        return processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+    }
+
+    /**
+     * 패키지를 제외한 binary name에서 $ -> _ (ex. NestedClosedProjections_TeamInfo)
+     */
+    private String flatName(TypeElement type) {
+        String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        String packageName = packageOf(type);
+        String simpleBinaryName = packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1);
+
+        return simpleBinaryName.replace('$', '_');
+    }
+
+    private void header(StringBuilder source, String packageName) {
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+
+        source.append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n");
+    }
+
+    private void write(String qualifiedName, StringBuilder source, Element origin) throws IOException {
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, origin).openWriter()) {
+            writer.write(source.toString());
+        }
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private static final class Node {
+
+        private final TypeElement type;
+
+        private final int start;
+
+        private final List<Property> properties = new ArrayList<>();
+
+        private Node(TypeElement type, int start) {
+            this.type = type;
+            this.start = start;
+        }
+    }
+
+    private static final class Property {
+
+        private final String name;
+
+        private final String path;
+
+        private final String getter;
+
+        private final TypeMirror type;
+
+        private final Node nested;
+
+        private final int column;
+
+        private Property(String name, String path, String getter, TypeMirror type, Node nested, int column) {
+            this.name = name;
+            this.path = path;
+            this.getter = getter;
+            this.type = type;
+            this.nested = nested;
+            this.column = column;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.tistory.jaimemin.springdatajpa.benchmark;
+
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.persistence.EntityManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * blocking(/members/{id}/username) vs async(/async/members/{id}) 부하 테스트 (JMH X, main 실행)
+ * 동시 사용자(closed loop) 수를 늘려가며 p99를 재고, p99가 목표 이하이면서 오류가 없는 최대 동시 요청 수 비교
+ *
+ * 두 endpoint 모두 SELECT m.username ... WHERE m.id = :id 한 번
+ * 2차 캐시는 끄고, 요청마다 seed한 member 중 임의의 id를 골라서 매번 DB를 읽도록 함
+ *
+ * ./gradlew loadTest -Ploadtest.p99=50 -Ploadtest.seconds=10 -Ploadtest.servlet-threads=50 -Ploadtest.members=10000
+ */
+public final class AsyncLoadTest {
+
+    private static final int[] CONCURRENCY = {8, 16, 32, 64, 128, 256, 512};
+
+    private static final Duration WARM_UP = Duration.ofSeconds(2);
+
+    private AsyncLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Duration targetP99 = Duration.ofMillis(Long.getLong("loadtest.p99", 50));
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.seconds", 10));
+        ConfigurableApplicationContext context = BenchmarkApplication.startWeb(
+                "server.tomcat.threads.max=" + Integer.getInteger("loadtest.servlet-threads", 50),
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache=false");
+
+        try {
+            BenchmarkApplication.seed(context, Integer.getInteger("loadtest.members", 10_000), 0);
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            List<Long> ids = context.getBean(EntityManager.class)
+                    .createQuery("SELECT m.id FROM Member m", Long.class)
+                    .getResultList();
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .build();
+
+            for (String path : List.of("/members/%d/username", "/async/members/%d")) {
+                String uri = "http://localhost:" + port + path;
+                int maxConcurrency = 0;
+                System.out.printf("%n%s (target p99 %d ms, %d ids)%n", path, targetP99.toMillis(), ids.size());
+                System.out.printf("%8s %10s %10s %10s %8s%n", "users", "req/s", "p50(ms)", "p99(ms)", "errors");
+
+                for (int users : CONCURRENCY) {
+                    Result result = run(client, uri, ids, users, duration);
+                    System.out.printf("%8d %10.0f %10.1f %10.1f %8d%n", users, result.throughput(duration),
+                            result.percentile(0.5) / 1e6, result.percentile(0.99) / 1e6, result.errors);
+
+                    if (result.errors > 0 || result.percentile(0.99) > targetP99.toNanos()) {
+                        break;
+                    }
+
+                    maxConcurrency = users;
+                }
+
+                System.out.printf("max concurrency within p99 %d ms: %d%n", targetP99.toMillis(), maxConcurrency);
+            }
+        } finally {
+            context.close();
+        }
+    }
+
+    /**
+     * users개 thread가 응답을 받는 즉시 다음 요청 (WARM_UP 동안의 응답은 제외)
+     * 요청마다 ids 중 하나를 임의로 골라서 uri(%d)에 넣음
+     */
+    private static Result run(HttpClient client, String uri, List<Long> ids, int users, Duration duration)
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(users);
+        long measureFrom = System.nanoTime() + WARM_UP.toNanos();
+        long end = measureFrom + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<Future<List<Long>>> futures = new ArrayList<>();
+
+        for (int i = 0; i < users; i++) {
+            futures.add(executor.submit(() -> {
+                List<Long> latencies = new ArrayList<>();
+
+                while (System.nanoTime() < end) {
+                    Long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(String.format(uri, id))).GET().build();
+                    long start = System.nanoTime();
+
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+
+                    if (start >= measureFrom) {
+                        latencies.add(System.nanoTime() - start);
+                    }
+                }
+
+                return latencies;
+            }));
+        }
+
+        List<Long> latencies = new ArrayList<>();
+
+        for (Future<List<Long>> future : futures) {
+            latencies.addAll(future.get());
+        }
+
+        executor.shutdown();
+        Collections.sort(latencies);
+
+        return new Result(latencies, errors.get());
+    }
+
+    private static final class Result {
+
+        private final List<Long> latencies;
+
+        private final long errors;
+
+        private Result(List<Long> latencies, long errors) {
+            this.latencies = latencies;
+            this.errors = errors;
+        }
+
+        private double throughput(Duration duration) {
+            return latencies.size() / (double) duration.getSeconds();
+        }
+
+        private long percentile(double percentile) {
+            if (latencies.isEmpty()) {
+                return Long.MAX_VALUE;
+            }
+
+            return latencies.get((int) Math.ceil(percentile * latencies.size()) - 1);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.tistory.jaimemin.springdatajpa.benchmark;
+
+import com.tistory.jaimemin.springdatajpa.entity.BaseEntityListener;
+import com.tistory.jaimemin.springdatajpa.entity.Member;
+import com.tistory.jaimemin.springdatajpa.repository.MemberRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.auditing.AuditingHandler;
+import org.springframework.data.auditing.CurrentDateTimeProvider;
+import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * rows건 감사(auditing) 처리 1회 시간
+ * insert: saveAllBatched (BaseEntityListener + DB INSERT)
+ * auditingHandler: 기존 방식 (AuditingEntityListener가 쓰는 AuditingHandler, 호출마다 UUID 생성, LocalDateTime.now())
+ * listener: BaseEntityListener (트랜잭션 단위 감사자/시각, 필드 직접 설정)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class AuditingBenchmark {
+
+    @Param({"100000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+
+    private MemberRepository memberRepository;
+
+    private TransactionTemplate transactionTemplate;
+
+    private AuditingHandler auditingHandler;
+
+    private BaseEntityListener listener;
+
+    private List<Member> members;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        memberRepository = context.getBean(MemberRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        auditingHandler = AuditingHandler.from(context.getBean(JpaMetamodelMappingContext.class));
+        auditingHandler.setAuditorAware(() -> Optional.of(Optional.of(UUID.randomUUID()).toString()));
+        auditingHandler.setDateTimeProvider(CurrentDateTimeProvider.INSTANCE);
+        listener = context.getAutowireCapableBeanFactory().createBean(BaseEntityListener.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void prepareIteration() {
+        memberRepository.deleteAllInBatch();
+        members = new ArrayList<>(rows);
+
+        for (int i = 0; i < rows; i++) {
+            members.add(new Member("member" + i, i % 100));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long insert() {
+        return memberRepository.saveAllBatched(members, 1000);
+    }
+
+    @Benchmark
+    public List<Member> auditingHandler() {
+        return transactionTemplate.execute(status -> {
+            members.forEach(auditingHandler::markCreated);
+
+            return members;
+        });
+    }
+
+    @Benchmark
+    public List<Member> listener() {
+        return transactionTemplate.execute(status -> {
+            members.forEach(listener::prePersist);
+
+            return members;
+        });
+    }
+}
@@ -0,0 +1,76 @@
+package com.tistory.jaimemin.springdatajpa.benchmark;
+
+import com.tistory.jaimemin.springdatajpa.entity.Member;
+import com.tistory.jaimemin.springdatajpa.repository.MemberRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * rows건 저장 1회 시간 (rows / 시간 = rows/s)
+ * saveAll: 하나의 영속성 컨텍스트에 전부 쌓임
+ * saveAllBatched: 1000건마다 flush + clear
+ *
+ * 1,000,000건 saveAll은 영속성 컨텍스트에 entity + snapshot이 전부 남으므로 fork heap을 넉넉히 (build.gradle jmh.jvmArgs)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class BatchInsertBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+
+    private MemberRepository memberRepository;
+
+    private List<Member> members;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        memberRepository = context.getBean(MemberRepository.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void prepareIteration() {
+        memberRepository.deleteAllInBatch();
+        members = new ArrayList<>(rows);
+
+        for (int i = 0; i < rows; i++) {
+            members.add(new Member("member" + i, i % 100));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Member> saveAll() {
+        return memberRepository.saveAll(members);
+    }
+
+    @Benchmark
+    public long saveAllBatched() {
+        return memberRepository.saveAllBatched(members, 1000);
+    }
+}
@@ -0,0 +1,112 @@
+package com.tistory.jaimemin.springdatajpa.benchmark;
+
+import com.tistory.jaimemin.springdatajpa.SpringDataJpaApplication;
+import com.tistory.jaimemin.springdatajpa.entity.Member;
+import com.tistory.jaimemin.springdatajpa.entity.Team;
+import com.tistory.jaimemin.springdatajpa.repository.MemberRepository;
+import com.tistory.jaimemin.springdatajpa.repository.TeamRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+/**
+ * benchmark용 애플리케이션 기동 (embedded 프로필: H2 in-memory, web X)
+ * 기본 설정은 application.yml과 같고 SQL 로그, 요청 검사만 끔
+ */
+public final class BenchmarkApplication {
+
+    private static final String[] DEFAULT_PROPERTIES = {
+            "spring.profiles.active=embedded",
+            "spring.jpa.properties.hibernate.format_sql=false",
+            "spring.main.banner-mode=off",
+            "logging.level.root=warn",
+            "logging.level.org.hibernate.SQL=warn",
+            "datajpa.query-count.mode=off",
+            "datajpa.query-validation.mode=off"
+    };
+
+    private BenchmarkApplication() {
+    }
+
+    /**
+     * application.yml보다 우선하도록 command line argument로 전달
+     *
+     * @param properties key=value
+     * @return
+     */
+    public static ConfigurableApplicationContext start(String... properties) {
+        return run(WebApplicationType.NONE, properties);
+    }
+
+    /**
+     * 내장 톰캣까지 기동 (임의 포트, local.server.port)
+     *
+     * @param properties key=value
+     * @return
+     */
+    public static ConfigurableApplicationContext startWeb(String... properties) {
+        return run(WebApplicationType.SERVLET, Stream.concat(Stream.of("server.port=0"), Arrays.stream(properties))
+                .toArray(String[]::new));
+    }
+
+    private static ConfigurableApplicationContext run(WebApplicationType webApplicationType, String... properties) {
+        List<String> args = new ArrayList<>();
+        Stream.concat(Arrays.stream(DEFAULT_PROPERTIES), Arrays.stream(properties))
+                .forEach(property -> args.add("--" + property));
+
+        return new SpringApplicationBuilder(SpringDataJpaApplication.class)
+                .web(webApplicationType)
+                .run(args.toArray(new String[0]));
+    }
+
+    /**
+     * MemberController.init의 100명 외에 "member{i}" (age = i % 100, team = i % teamCount) 추가
+     * 전체를 메모리에 올리지 않도록 Iterable로 하나씩 생성
+     *
+     * @param context
+     * @param members
+     * @param teamCount 0이면 team 없음
+     */
+    public static void seed(ConfigurableApplicationContext context, int members, int teamCount) {
+        List<Team> teams = new ArrayList<>();
+
+        for (int i = 0; i < teamCount; i++) {
+            teams.add(new Team("team" + i));
+        }
+
+        List<Team> savedTeams = context.getBean(TeamRepository.class).saveAll(teams);
+        context.getBean(MemberRepository.class).saveAllBatched(() -> new Iterator<Member>() {
+
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < members;
+            }
+
+            @Override
+            public Member next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                int i = next++;
+                Member member = new Member("member" + i, i % 100);
+
+                // changeTeam은 Team.members에도 추가하므로 대량 seed에서는 FK만 설정
+                if (teamCount > 0) {
+                    member.setTeam(savedTeams.get(i % teamCount));
+                }
+
+                return member;
+            }
+        }, 1000);
+    }
+}
@@ -0,0 +1,75 @@
+package com.tistory.jaimemin.springdatajpa.benchmark;
+
+import com.tistory.jaimemin.springdatajpa.entity.Item;
+import com.tistory.jaimemin.springdatajpa.repository.ItemRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * id를 직접 할당하는 Item rows건을 빈 테이블에 저장 1회 시간 (ItemSaveBenchmark의 existing = 0과 비교)
+ * 기존 id가 있으면 PK 위반이므로 항상 빈 테이블에서 시작
+ * saveAll: Persistable.isNew()로 persist, 하나의 영속성 컨텍스트에 전부 쌓임
+ * persistAll: persist, 1000건마다 flush + clear
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class ItemInsertBenchmark {
+
+    @Param({"100000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+
+    private ItemRepository itemRepository;
+
+    private List<Item> items;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        itemRepository = context.getBean(ItemRepository.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void prepareIteration() {
+        itemRepository.deleteAllInBatch();
+        items = new ArrayList<>(rows);
+
+        for (int i = 0; i < rows; i++) {
+            items.add(new Item("item" + i));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Item> saveAll() {
+        return itemRepository.saveAll(items);
+    }
+
+    @Benchmark
+    public long persistAll() {
+        return itemRepository.persistAll(items, 1000);
+    }
+}
@@ -0,0 +1,112 @@
+package com.tistory.jaimemin.springdatajpa.benchmark;
+
+import com.tistory.jaimemin.springdatajpa.entity.Item;
+import com.tistory.jaimemin.springdatajpa.repository.ItemRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * id를 직접 할당하는 Item rows건 저장 1회 시간, existing 비율만큼은 이미 DB에 있는 id
+ * merge: isNew() 판단 없이 EntityManager.merge (id마다 SELECT 후 INSERT/UPDATE)
+ * upsertAll: 1000건마다 WHERE id IN (...)으로 기존 row 조회 후 persist/merge, flush + clear
+ * upsertAllNative: 방언별 MERGE SQL JDBC batch
+ * 기존 id가 있으면 PK 위반인 insert 전용 방식(saveAll, persistAll)은 ItemInsertBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class ItemSaveBenchmark {
+
+    @Param({"100000"})
+    private int rows;
+
+    @Param({"0", "0.5"})
+    private double existing;
+
+    private ConfigurableApplicationContext context;
+
+    private ItemRepository itemRepository;
+
+    private EntityManager entityManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private List<Item> items;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        itemRepository = context.getBean(ItemRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @Setup(Level.Iteration)
+    public void prepareIteration() {
+        itemRepository.deleteAllInBatch();
+        int existingRows = (int) (rows * existing);
+        List<Item> stored = new ArrayList<>(existingRows);
+
+        for (int i = 0; i < existingRows; i++) {
+            stored.add(new Item("item" + i));
+        }
+
+        itemRepository.persistAll(stored, 1000);
+        items = new ArrayList<>(rows);
+
+        for (int i = 0; i < rows; i++) {
+            items.add(new Item("item" + i));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Integer merge() {
+        return transactionTemplate.execute(status -> {
+            for (int i = 0; i < items.size(); i++) {
+                entityManager.merge(items.get(i));
+
+                if ((i + 1) % 1000 == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+
+            return items.size();
+        });
+    }
+
+    @Benchmark
+    public List<Item> upsertAll() {
+        return itemRepository.upsertAll(items);
+    }
+
+    @Benchmark
+    public long upsertAllNative() {
+        return itemRepository.upsertAllNative(items);
+    }
+}
@@ -0,0 +1,80 @@
+package com.tistory.jaimemin.springdatajpa.benchmark;
+
+import com.tistory.jaimemin.springdatajpa.entity.Member;
+import com.tistory.jaimemin.springdatajpa.repository.MemberRepository;
+import com.tistory.jaimemin.springdatajpa.service.MemberService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 8개 스레드가 hotRows개 회원의 age를 동시에 증가
+ * hotRows가 작을수록 경합이 심함 (pessimistic: 대기, optimistic: 재시도)
+ *
+ * Throughput: 전체 처리량, SampleTime: 호출별 지연 분포 (p99 등 tail latency)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(8)
+public class LockingBenchmark {
+
+    @Param({"1", "16", "256"})
+    private int hotRows;
+
+    private ConfigurableApplicationContext context;
+
+    private MemberService memberService;
+
+    private List<Long> ids;
+
+    @Setup
+    public void setUp() {
+        // 경합 시 2차 캐시의 soft lock이 아닌 DB version 비교로 충돌을 보도록 캐시 X
+        context = BenchmarkApplication.start("spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "datajpa.optimistic-retry.max-attempts=100");
+        memberService = context.getBean(MemberService.class);
+
+        List<Member> members = new ArrayList<>();
+
+        for (int i = 0; i < hotRows; i++) {
+            members.add(new Member("hot" + i, 0));
+        }
+
+        ids = new ArrayList<>();
+        context.getBean(MemberRepository.class).saveAll(members)
+                .forEach(member -> ids.add(member.getId()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int pessimistic() {
+        return memberService.increaseAgePessimistic(randomId());
+    }
+
+    @Benchmark
+    public int optimistic() {
+        return memberService.increaseAgeOptimistic(randomId());
+    }
+
+    private Long randomId() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+}
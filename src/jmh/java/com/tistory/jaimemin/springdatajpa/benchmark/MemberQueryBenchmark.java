@@ -0,0 +1,124 @@
+package com.tistory.jaimemin.springdatajpa.benchmark;
+
+import com.tistory.jaimemin.springdatajpa.entity.Member;
+import com.tistory.jaimemin.springdatajpa.repository.MemberJpaRepository;
+import com.tistory.jaimemin.springdatajpa.repository.MemberProjection;
+import com.tistory.jaimemin.springdatajpa.repository.MemberRepository;
+import com.tistory.jaimemin.springdatajpa.repository.MemberSpec;
+import com.tistory.jaimemin.springdatajpa.repository.UsernameOnly;
+import com.tistory.jaimemin.springdatajpa.repository.UsernameOnlyDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * 같은 조건(username = member501)을 조회 방식별로 비교
+ * 모두 readOnly 트랜잭션 안에서 실행
+ */
+@State(Scope.Benchmark)
+public class MemberQueryBenchmark {
+
+    private static final String USERNAME = "member501";
+
+    private ConfigurableApplicationContext context;
+
+    private MemberRepository memberRepository;
+
+    private MemberJpaRepository memberJpaRepository;
+
+    private TransactionTemplate readOnly;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        BenchmarkApplication.seed(context, 10_000, 10);
+
+        memberRepository = context.getBean(MemberRepository.class);
+        memberJpaRepository = context.getBean(MemberJpaRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Member> derivedQuery() {
+        return readOnly.execute(status -> memberRepository.findByUsernameAndAgeGreaterThan(USERNAME, 0));
+    }
+
+    @Benchmark
+    public List<Member> jpqlQuery() {
+        return readOnly.execute(status -> memberRepository.findUser(USERNAME, 0));
+    }
+
+    /**
+     * org.hibernate.cacheable hint가 있으므로 query cache + 2차 캐시 경로
+     */
+    @Benchmark
+    public List<Member> namedQuery() {
+        return readOnly.execute(status -> memberRepository.findByUsername(USERNAME));
+    }
+
+    @Benchmark
+    public List<Member> specification() {
+        return readOnly.execute(status -> memberRepository.findAll(
+                MemberSpec.username(USERNAME).and(MemberSpec.teamName("team1"))));
+    }
+
+    /**
+     * shape별로 캐시된 JPQL 사용 (Criteria 트리 생성, 렌더링 X)
+     */
+    @Benchmark
+    public List<Member> compiledSpecification() {
+        return readOnly.execute(status -> memberRepository.findAllCompiled(
+                MemberSpec.username(USERNAME).and(MemberSpec.teamName("team1")), Sort.unsorted()));
+    }
+
+    @Benchmark
+    public List<UsernameOnlyDto> dtoProjection() {
+        return readOnly.execute(status -> memberRepository.findProjectionsByUsername(USERNAME));
+    }
+
+    @Benchmark
+    public List<UsernameOnly> interfaceProjection() {
+        return readOnly.execute(status -> memberRepository.findGenericProjectionsByUsername(USERNAME, UsernameOnly.class));
+    }
+
+    @Benchmark
+    public Member nativeQuery() {
+        return readOnly.execute(status -> memberRepository.findByNativeQuery(USERNAME));
+    }
+
+    @Benchmark
+    public Page<MemberProjection> nativeProjectionPage() {
+        return readOnly.execute(status -> memberRepository.findByNativeProjection(PageRequest.of(10, 20)));
+    }
+
+    @Benchmark
+    public List<Member> entityManagerQuery() {
+        return readOnly.execute(status -> memberJpaRepository.findByUsernameAndAgeGreaterThan(USERNAME, 0));
+    }
+
+    @Benchmark
+    public List<Member> entityManagerNamedQuery() {
+        return readOnly.execute(status -> memberJpaRepository.findByUsername(USERNAME));
+    }
+
+    @Benchmark
+    public List<Member> entityManagerPage() {
+        return readOnly.execute(status -> memberJpaRepository.findByPage(10, 0, 20));
+    }
+}
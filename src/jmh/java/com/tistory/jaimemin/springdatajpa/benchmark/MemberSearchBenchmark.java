@@ -0,0 +1,121 @@
+package com.tistory.jaimemin.springdatajpa.benchmark;
+
+import com.tistory.jaimemin.springdatajpa.dto.MemberSearchCondition;
+import com.tistory.jaimemin.springdatajpa.entity.Member;
+import com.tistory.jaimemin.springdatajpa.repository.MemberRepository;
+import com.tistory.jaimemin.springdatajpa.repository.MemberSpec;
+import com.tistory.jaimemin.springdatajpa.support.querycount.QueryCount;
+import com.tistory.jaimemin.springdatajpa.support.querycount.QueryCountHolder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+
+/**
+ * /members/search 조건 조합별 비교 (회원 100,000명)
+ * 시작 시 각 조건으로 실제 실행된 SQL을 같은 parameter 값으로 EXPLAIN 해서 인덱스를 타는지 확인하고 아니면 실패
+ */
+@State(Scope.Benchmark)
+public class MemberSearchBenchmark {
+
+    private ConfigurableApplicationContext context;
+
+    private MemberRepository memberRepository;
+
+    private TransactionTemplate readOnly;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("datajpa.count.strategy=cached");
+        BenchmarkApplication.seed(context, 100_000, 100);
+
+        memberRepository = context.getBean(MemberRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.execute("ANALYZE");
+        requireIndex(usernamePrefixCondition(), "IDX_MEMBER_USERNAME", "member1234%", "\\");
+        requireIndex(ageRangeCondition(), "IDX_MEMBER_AGE", 10, 11);
+        requireIndex(ageRangeAndTeamCondition(), "IDX_MEMBER_", 10, 11, "team10");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<Member> usernamePrefix() {
+        return search(usernamePrefixCondition());
+    }
+
+    @Benchmark
+    public Page<Member> ageRange() {
+        return search(ageRangeCondition());
+    }
+
+    @Benchmark
+    public Page<Member> ageRangeAndTeam() {
+        return search(ageRangeAndTeamCondition());
+    }
+
+    private static MemberSearchCondition usernamePrefixCondition() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsername("member1234");
+
+        return condition;
+    }
+
+    private static MemberSearchCondition ageRangeCondition() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(10);
+        condition.setAgeLoe(11);
+
+        return condition;
+    }
+
+    private static MemberSearchCondition ageRangeAndTeamCondition() {
+        MemberSearchCondition condition = ageRangeCondition();
+        condition.setTeamName("team10");
+
+        return condition;
+    }
+
+    private Page<Member> search(MemberSearchCondition condition) {
+        return readOnly.execute(status -> memberRepository.findPageCompiled(MemberSpec.search(condition),
+                PageRequest.of(0, 20, Sort.by("id"))));
+    }
+
+    /**
+     * values: SQL에 나오는 순서대로의 검색 조건 값, 남는 parameter(limit/offset)는 page size로 채움
+     */
+    private void requireIndex(MemberSearchCondition condition, String index, Object... values) {
+        String sql;
+
+        try (QueryCount count = QueryCountHolder.start()) {
+            search(condition);
+            sql = count.getRepeatedStatements(1).keySet().iterator().next();
+        }
+
+        Object[] params = Arrays.copyOf(values, (int) sql.chars().filter(c -> c == '?').count());
+        Arrays.fill(params, values.length, params.length, 20);
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, params);
+
+        if (plan == null || !plan.toUpperCase().contains(index) || plan.toUpperCase().contains("MEMBER.TABLESCAN")) {
+            throw new IllegalStateException(index + " is not used: " + plan);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.tistory.jaimemin.springdatajpa.benchmark;
+
+import com.tistory.jaimemin.springdatajpa.entity.Member;
+import com.tistory.jaimemin.springdatajpa.repository.CursorSlice;
+import com.tistory.jaimemin.springdatajpa.repository.KeysetCursor;
+import com.tistory.jaimemin.springdatajpa.repository.MemberRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+
+/**
+ * 전체의 90% 지점 페이지 조회: OFFSET vs keyset
+ * OFFSET은 앞의 row를 모두 읽고 버리므로 rows에 비례, keyset은 PK 인덱스 탐색이라 거의 일정
+ */
+@State(Scope.Benchmark)
+public class PagingBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"100000", "1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+
+    private MemberRepository memberRepository;
+
+    private TransactionTemplate readOnly;
+
+    private int deepPage;
+
+    private String deepCursor;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("datajpa.count.strategy=cached");
+        BenchmarkApplication.seed(context, rows, 0);
+
+        memberRepository = context.getBean(MemberRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        deepPage = rows / PAGE_SIZE * 9 / 10;
+        Long lastId = readOnly.execute(status -> context.getBean(EntityManager.class)
+                .createQuery("SELECT m.id FROM Member m ORDER BY m.id", Long.class)
+                .setFirstResult(deepPage * PAGE_SIZE - 1)
+                .setMaxResults(1)
+                .getSingleResult());
+        deepCursor = KeysetCursor.encode(lastId);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<Member> offset() {
+        return readOnly.execute(status -> memberRepository.findMemberPage(
+                PageRequest.of(deepPage, PAGE_SIZE, Sort.by("id"))));
+    }
+
+    @Benchmark
+    public CursorSlice<Member> keyset() {
+        return readOnly.execute(status -> memberRepository.findMemberByCursor(deepCursor, PAGE_SIZE));
+    }
+}
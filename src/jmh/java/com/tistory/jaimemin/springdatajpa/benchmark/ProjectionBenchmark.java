@@ -0,0 +1,73 @@
+package com.tistory.jaimemin.springdatajpa.benchmark;
+
+import com.tistory.jaimemin.springdatajpa.repository.MemberRepository;
+import com.tistory.jaimemin.springdatajpa.repository.NestedClosedProjections;
+import com.tistory.jaimemin.springdatajpa.repository.UsernameOnly;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+/**
+ * 같은 username 약 1,000명 조회
+ * proxy: Spring Data의 interface projection (중첩은 entity 전체 조회 + 프록시)
+ * generated: findClosedProjectionsByUsername (참조 컬럼만 select + 컴파일 시 생성된 구현 클래스)
+ */
+@State(Scope.Benchmark)
+public class ProjectionBenchmark {
+
+    private static final String USERNAME = "same";
+
+    private ConfigurableApplicationContext context;
+
+    private MemberRepository memberRepository;
+
+    private TransactionTemplate readOnly;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        BenchmarkApplication.seed(context, 10_000, 10);
+
+        memberRepository = context.getBean(MemberRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        // age 0 ~ 9 (약 1,000명)의 username을 같은 값으로
+        readOnly.executeWithoutResult(status -> context.getBean(EntityManager.class)
+                .createQuery("UPDATE Member m SET m.username = :username WHERE m.age < 10")
+                .setParameter("username", USERNAME)
+                .executeUpdate());
+        readOnly.setReadOnly(true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<UsernameOnly> flatProxy() {
+        return readOnly.execute(status -> memberRepository.findGenericProjectionsByUsername(USERNAME, UsernameOnly.class));
+    }
+
+    @Benchmark
+    public List<UsernameOnly> flatGenerated() {
+        return readOnly.execute(status -> memberRepository.findClosedProjectionsByUsername(USERNAME, UsernameOnly.class));
+    }
+
+    @Benchmark
+    public List<NestedClosedProjections> nestedProxy() {
+        return readOnly.execute(status -> memberRepository.findGenericProjectionsByUsername(USERNAME, NestedClosedProjections.class));
+    }
+
+    @Benchmark
+    public List<NestedClosedProjections> nestedGenerated() {
+        return readOnly.execute(status -> memberRepository.findClosedProjectionsByUsername(USERNAME, NestedClosedProjections.class));
+    }
+}
@@ -0,0 +1,63 @@
+package com.tistory.jaimemin.springdatajpa.benchmark;
+
+import com.tistory.jaimemin.springdatajpa.entity.Member;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+/**
+ * 회원 1,000명을 조회하는 요청 한 번
+ * readWrite: 스냅샷 보관 + 커밋 시 dirty checking
+ * readOnly: @ReadOnlyRequest와 같은 readOnly 트랜잭션 (스냅샷 X, flush X)
+ * gc.alloc.rate.norm 차이 = 요청당 절약되는 heap
+ */
+@State(Scope.Benchmark)
+public class ReadOnlyBenchmark {
+
+    private static final String MEMBERS = "SELECT m FROM Member m WHERE m.username LIKE 'member%'";
+
+    private ConfigurableApplicationContext context;
+
+    private EntityManager entityManager;
+
+    private TransactionTemplate readWrite;
+
+    private TransactionTemplate readOnly;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        BenchmarkApplication.seed(context, 1_000, 0);
+
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        entityManager = context.getBean(EntityManager.class);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Member> readWrite() {
+        return readWrite.execute(status -> entityManager.createQuery(MEMBERS, Member.class)
+                .getResultList());
+    }
+
+    @Benchmark
+    public List<Member> readOnly() {
+        return readOnly.execute(status -> entityManager.createQuery(MEMBERS, Member.class)
+                .getResultList());
+    }
+}
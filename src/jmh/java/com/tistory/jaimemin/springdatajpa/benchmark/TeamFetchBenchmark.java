@@ -0,0 +1,115 @@
+package com.tistory.jaimemin.springdatajpa.benchmark;
+
+import com.tistory.jaimemin.springdatajpa.entity.Member;
+import com.tistory.jaimemin.springdatajpa.support.querycount.QueryCount;
+import com.tistory.jaimemin.springdatajpa.support.querycount.QueryCountHolder;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+/**
+ * 회원 1,000명 + team(200개) 이름 조회
+ * nPlusOne: batch fetch 적용 전과 같은 모양 (member 조회 1 + team마다 SELECT 1)
+ * lazyTeams: Team의 @BatchSize로 IN (...) 묶음 조회
+ * fetchJoin: JOIN FETCH 한 번
+ * statements 보조 지표 = 호출당 실행된 SQL 수
+ */
+@State(Scope.Benchmark)
+public class TeamFetchBenchmark {
+
+    private static final String MEMBERS = "SELECT m FROM Member m WHERE m.username LIKE 'member%' ORDER BY m.id";
+
+    private ConfigurableApplicationContext context;
+
+    private EntityManager entityManager;
+
+    private TransactionTemplate readOnly;
+
+    @Setup
+    public void setUp() {
+        // 2차 캐시가 있으면 두 번째 호출부터 team을 DB에서 읽지 않으므로 끔
+        context = BenchmarkApplication.start("spring.jpa.properties.hibernate.cache.use_second_level_cache=false");
+        BenchmarkApplication.seed(context, 1_000, 200);
+
+        entityManager = context.getBean(EntityManager.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int nPlusOne(Statements statements) {
+        return readOnly.execute(status -> statements.count(() -> {
+            List<Long> teamIds = entityManager.createQuery(MEMBERS.replace("SELECT m FROM", "SELECT m.team.id FROM"), Long.class)
+                    .getResultList();
+
+            return teamIds.stream()
+                    .distinct()
+                    .mapToInt(teamId -> entityManager.createQuery("SELECT t.name FROM Team t WHERE t.id = :id", String.class)
+                            .setParameter("id", teamId)
+                            .getSingleResult()
+                            .length())
+                    .sum();
+        }));
+    }
+
+    @Benchmark
+    public int lazyTeams(Statements statements) {
+        return readOnly.execute(status -> statements.count(() -> {
+            List<Member> members = entityManager.createQuery(MEMBERS, Member.class)
+                    .getResultList();
+
+            return members.stream()
+                    .mapToInt(member -> member.getTeam().getName().length())
+                    .sum();
+        }));
+    }
+
+    @Benchmark
+    public int fetchJoin(Statements statements) {
+        return readOnly.execute(status -> statements.count(() -> {
+            List<Member> members = entityManager.createQuery(MEMBERS.replace("FROM Member m", "FROM Member m JOIN FETCH m.team"), Member.class)
+                    .getResultList();
+
+            return members.stream()
+                    .mapToInt(member -> member.getTeam().getName().length())
+                    .sum();
+        }));
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Statements {
+
+        public long statements;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            statements = 0;
+        }
+
+        int count(IntSupplier action) {
+            try (QueryCount count = QueryCountHolder.start()) {
+                int result = action.getAsInt();
+                statements += count.getStatements();
+
+                return result;
+            }
+        }
+    }
+}
@@ -1,15 +1,18 @@
 package com.tistory.jaimemin.springdatajpa;
 
+import com.tistory.jaimemin.springdatajpa.support.audit.CachedAuditorAware;
+import com.tistory.jaimemin.springdatajpa.support.audit.TransactionClock;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.data.auditing.DateTimeProvider;
 import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
 import java.util.Optional;
 import java.util.UUID;
 
-@EnableJpaAuditing
+@EnableJpaAuditing(dateTimeProviderRef = "auditingDateTimeProvider")
 @SpringBootApplication
 public class SpringDataJpaApplication {
 
@@ -17,8 +20,19 @@ public class SpringDataJpaApplication {
         SpringApplication.run(SpringDataJpaApplication.class, args);
     }
 
+    /**
+     * 실제로는 SecurityContext, 세션 등에서 사용자 조회 -> 트랜잭션당 한 번만 호출
+     */
     @Bean
     public AuditorAware<String> auditorProvider() {
-        return () -> Optional.of(Optional.of(UUID.randomUUID()).toString());
+        return new CachedAuditorAware<>(() -> Optional.of(UUID.randomUUID().toString()));
+    }
+
+    /**
+     * AuditingEntityListener(Item 등)도 BaseEntity와 같은 트랜잭션 단위 시각 사용
+     */
+    @Bean
+    public DateTimeProvider auditingDateTimeProvider() {
+        return () -> Optional.of(TransactionClock.now());
     }
 }
@@ -0,0 +1,56 @@
+package com.tistory.jaimemin.springdatajpa.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * repository @Async 메서드 실행용 executor
+ *
+ * DB 작업은 connection 수 이상 동시에 실행될 수 없으므로 thread 수 = connection pool 크기
+ * 대기열이 차면 TaskRejectedException (controller에서 503)
+ * datajpa.async.pool-size (0이면 DataSourceConfig.poolSize), datajpa.async.queue-capacity
+ */
+@EnableAsync
+@Configuration
+public class AsyncConfig {
+
+    public static final String REPOSITORY_EXECUTOR = "repositoryExecutor";
+
+    @Bean(name = REPOSITORY_EXECUTOR)
+    public ThreadPoolTaskExecutor repositoryExecutor(Environment environment,
+                                                     @Value("${datajpa.async.pool-size:0}") int poolSize,
+                                                     @Value("${datajpa.async.queue-capacity:500}") int queueCapacity) {
+        if (poolSize < 1) {
+            poolSize = DataSourceConfig.poolSize(environment);
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("repository-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+
+        return executor;
+    }
+
+    /**
+     * Executor 빈이 있으면 Boot가 기본 executor를 만들지 않으므로 직접 등록
+     * (/members/export 등 MVC async 응답, executor를 지정하지 않은 @Async)
+     */
+    @Lazy
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public ThreadPoolTaskExecutor applicationTaskExecutor(TaskExecutorBuilder builder) {
+        return builder.build();
+    }
+}
@@ -0,0 +1,38 @@
+package com.tistory.jaimemin.springdatajpa.config;
+
+import com.tistory.jaimemin.springdatajpa.support.datasource.HikariPoolSizePostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * connection pool 크기
+ * - spring.datasource.hikari.maximum-pool-size를 지정하면 그 값
+ * - 아니면 datajpa.datasource.pool-size, 0(기본)이면 코어 수 * 2 + 1
+ *   (HikariCP 권장식 core_count * 2 + effective_spindle_count)
+ */
+@Configuration
+public class DataSourceConfig {
+
+    private static final String HIKARI_MAXIMUM_POOL_SIZE = "spring.datasource.hikari.maximum-pool-size";
+
+    /**
+     * BeanPostProcessor는 static으로 등록해야 하므로 @Value 대신 Environment 사용
+     */
+    @Bean
+    public static HikariPoolSizePostProcessor hikariPoolSizePostProcessor(Environment environment) {
+        return new HikariPoolSizePostProcessor(poolSize(environment));
+    }
+
+    public static int poolSize(Environment environment) {
+        Integer hikariPoolSize = environment.getProperty(HIKARI_MAXIMUM_POOL_SIZE, Integer.class);
+
+        if (hikariPoolSize != null) {
+            return hikariPoolSize;
+        }
+
+        int poolSize = environment.getProperty("datajpa.datasource.pool-size", Integer.class, 0);
+
+        return poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors() * 2 + 1;
+    }
+}
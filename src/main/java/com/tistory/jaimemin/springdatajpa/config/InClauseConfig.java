@@ -0,0 +1,22 @@
+package com.tistory.jaimemin.springdatajpa.config;
+
+import com.tistory.jaimemin.springdatajpa.repository.inclause.InClauseChunkingPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * datajpa.in-clause.chunk-size: 컬렉션 parameter를 나누는 기준 (기본 1000)
+ */
+@Configuration
+public class InClauseConfig {
+
+    /**
+     * BeanPostProcessor는 static으로 등록해야 하므로 @Value 대신 Environment 사용
+     */
+    @Bean
+    public static InClauseChunkingPostProcessor inClauseChunkingPostProcessor(Environment environment) {
+        return new InClauseChunkingPostProcessor(
+                environment.getProperty("datajpa.in-clause.chunk-size", Integer.class, 1000));
+    }
+}
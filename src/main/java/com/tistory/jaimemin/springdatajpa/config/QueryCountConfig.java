@@ -0,0 +1,45 @@
+package com.tistory.jaimemin.springdatajpa.config;
+
+import com.tistory.jaimemin.springdatajpa.support.querycount.QueryCountFilter;
+import com.tistory.jaimemin.springdatajpa.support.querycount.QueryCountRepositoryPostProcessor;
+import com.tistory.jaimemin.springdatajpa.support.querycount.QueryCountSessionListener;
+import com.tistory.jaimemin.springdatajpa.support.querycount.QueryCountStatementInspector;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * datajpa.query-count
+ * - request-budget: 요청당 허용 SQL 개수
+ * - mode: warn (로그) | fail (예외, 테스트용) | off
+ * - repeat-threshold: 같은 SQL이 이 횟수 이상이면 N+1 의심 로그
+ */
+@Configuration
+public class QueryCountConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountHibernatePropertiesCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountStatementInspector());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, QueryCountSessionListener.class.getName());
+        };
+    }
+
+    @Bean
+    public QueryCountFilter queryCountFilter(MeterRegistry meterRegistry,
+                                             @Value("${datajpa.query-count.request-budget:30}") int budget,
+                                             @Value("${datajpa.query-count.mode:warn}") String mode,
+                                             @Value("${datajpa.query-count.repeat-threshold:5}") int repeatThreshold) {
+        return new QueryCountFilter(meterRegistry, budget, QueryCountFilter.Mode.valueOf(mode.toUpperCase()), repeatThreshold);
+    }
+
+    @Bean
+    public static QueryCountRepositoryPostProcessor queryCountRepositoryPostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new QueryCountRepositoryPostProcessor(meterRegistry);
+    }
+}
@@ -0,0 +1,104 @@
+package com.tistory.jaimemin.springdatajpa.config;
+
+import com.tistory.jaimemin.springdatajpa.support.datasource.ReadOnlyHintRoutingPostProcessor;
+import com.tistory.jaimemin.springdatajpa.support.datasource.ReadWriteRoutingDataSource;
+import com.tistory.jaimemin.springdatajpa.support.datasource.ReplicaLagMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * datajpa.datasource.replica.url이 있으면 읽기/쓰기 분리
+ * - primary: spring.datasource.* (+ spring.datasource.hikari.*)
+ * - replica: datajpa.datasource.replica.* (username/password가 없으면 primary와 같음)
+ *   pool 설정은 primary와 같은 spring.datasource.hikari.*, datajpa.datasource.replica.hikari.*로 덮어쓸 수 있음
+ * - lag-query, max-lag, check-interval: ReplicaLagMonitor
+ *
+ * JPA/JDBC가 쓰는 DataSource는 LazyConnectionDataSourceProxy(ReadWriteRoutingDataSource)
+ * DDL(ddl-auto)은 primary에만 실행되므로 replica는 복제로 스키마를 받아야 함
+ *
+ * Spring ORM 기본값(DELAYED_ACQUISITION_AND_HOLD)은 EntityManager가 닫힐 때까지 connection을 잡고 있으므로
+ * open-in-view처럼 EntityManager 하나로 여러 트랜잭션을 실행하면 첫 트랜잭션의 route가 계속 쓰임
+ * -> 트랜잭션이 끝날 때마다 connection을 반납해서 트랜잭션마다 다시 route를 정하도록 변경
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "datajpa.datasource.replica", name = "url")
+public class ReadWriteRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(DataSourceProperties properties, Environment environment,
+                                              @Value("${datajpa.datasource.replica.url}") String url,
+                                              @Value("${datajpa.datasource.replica.username:}") String username,
+                                              @Value("${datajpa.datasource.replica.password:}") String password) {
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username.isEmpty() ? properties.determineUsername() : username)
+                .password(password.isEmpty() ? properties.determinePassword() : password)
+                .build();
+        Binder binder = Binder.get(environment);
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(replica));
+        binder.bind("datajpa.datasource.replica.hikari", Bindable.ofInstance(replica));
+        replica.setJdbcUrl(url);
+        replica.setPoolName("datajpa-replica");
+        replica.setReadOnly(true);
+
+        return replica;
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replica,
+                                               @Value("${datajpa.datasource.replica.lag-query:}") String lagQuery,
+                                               @Value("${datajpa.datasource.replica.max-lag:5s}") Duration maxLag,
+                                               @Value("${datajpa.datasource.replica.check-interval:5s}") Duration checkInterval) {
+        return new ReplicaLagMonitor(replica, lagQuery, maxLag, checkInterval);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicaLagMonitor replicaLagMonitor,
+                                 MeterRegistry meterRegistry) {
+        return new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primary, replica, replicaLagMonitor, meterRegistry));
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer routingHibernatePropertiesCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Bean
+    public static ReadOnlyHintRoutingPostProcessor readOnlyHintRoutingPostProcessor() {
+        return new ReadOnlyHintRoutingPostProcessor();
+    }
+}
@@ -0,0 +1,49 @@
+package com.tistory.jaimemin.springdatajpa.config;
+
+import com.tistory.jaimemin.springdatajpa.repository.count.ApproximateTotalCountStrategy;
+import com.tistory.jaimemin.springdatajpa.repository.count.CachedTotalCountStrategy;
+import com.tistory.jaimemin.springdatajpa.repository.count.ExactTotalCountStrategy;
+import com.tistory.jaimemin.springdatajpa.repository.count.TotalCountInvalidationPostProcessor;
+import com.tistory.jaimemin.springdatajpa.repository.count.TotalCountStrategy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+/**
+ * datajpa.count.strategy
+ * - exact: 매번 count query (기본값)
+ * - cached: query + parameter 단위로 TTL 동안 캐시
+ * - approximate: 테이블 전체 count는 DB 통계, 나머지는 cached
+ */
+@Configuration
+public class TotalCountConfig {
+
+    @Bean
+    public TotalCountStrategy totalCountStrategy(@Value("${datajpa.count.strategy:exact}") String strategy,
+                                                 @Value("${datajpa.count.cache-ttl:5s}") Duration cacheTtl,
+                                                 @Value("${datajpa.count.cache-max-entries:1000}") int cacheMaxEntries,
+                                                 @Value("${datajpa.count.approximate-query}") String approximateQuery,
+                                                 ObjectProvider<JdbcTemplate> jdbcTemplate) {
+        switch (strategy) {
+            case "exact":
+                return new ExactTotalCountStrategy();
+            case "cached":
+                return new CachedTotalCountStrategy(cacheTtl, cacheMaxEntries);
+            case "approximate":
+                return new ApproximateTotalCountStrategy(jdbcTemplate.getObject(), approximateQuery,
+                        new CachedTotalCountStrategy(cacheTtl, cacheMaxEntries));
+            default:
+                throw new IllegalArgumentException("unknown datajpa.count.strategy: " + strategy);
+        }
+    }
+
+    @Bean
+    public static TotalCountInvalidationPostProcessor totalCountInvalidationPostProcessor(
+            ObjectProvider<TotalCountStrategy> totalCountStrategy) {
+        return new TotalCountInvalidationPostProcessor(totalCountStrategy);
+    }
+}
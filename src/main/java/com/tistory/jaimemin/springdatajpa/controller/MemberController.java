@@ -1,31 +1,68 @@
 package com.tistory.jaimemin.springdatajpa.controller;
 
 import com.tistory.jaimemin.springdatajpa.dto.MemberDto;
+import com.tistory.jaimemin.springdatajpa.dto.MemberSearchCondition;
 import com.tistory.jaimemin.springdatajpa.entity.Member;
+import com.tistory.jaimemin.springdatajpa.repository.CursorSlice;
+import com.tistory.jaimemin.springdatajpa.repository.KeysetCursor;
 import com.tistory.jaimemin.springdatajpa.repository.MemberRepository;
+import com.tistory.jaimemin.springdatajpa.repository.MemberSpec;
+import com.tistory.jaimemin.springdatajpa.service.MemberExportService;
+import com.tistory.jaimemin.springdatajpa.support.ReadOnlyRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequiredArgsConstructor
 public class MemberController {
 
+    private static final int MAX_PAGE_SIZE = 2000;
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv");
+
+    /**
+     * 정렬은 member 컬럼만 허용 (team.name 등은 join이 추가됨)
+     */
+    private static final Set<String> SEARCH_SORT_PROPERTIES = Set.of("id", "username", "age");
+
     private final MemberRepository memberRepository;
 
+    private final MemberExportService memberExportService;
+
     @PostConstruct
     void init() {
+        List<Member> members = new ArrayList<>();
+
         for (int i = 0; i < 100; i++) {
-            memberRepository.save(new Member("user" + i, i));
+            members.add(new Member("user" + i, i));
         }
+
+        memberRepository.saveAllBatched(members, 100);
     }
 
+    @ReadOnlyRequest
     @GetMapping("/members/{id}")
     public String findMember(@PathVariable("id") Long id) {
         Member member = memberRepository.findById(id).get();
@@ -33,12 +70,126 @@ public class MemberController {
         return member.getUsername();
     }
 
+    /**
+     * /async/members/{id}와 같은 쿼리를 servlet thread에서 실행
+     */
+    @ReadOnlyRequest
+    @GetMapping("/members/{id}/username")
+    public String findUsername(@PathVariable("id") Long id) {
+        return memberRepository.findUsername(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+    }
+
+    @ReadOnlyRequest
     @GetMapping("/members")
     public Page<MemberDto> list(@PageableDefault(size = 5) Pageable pageable) {
-        return memberRepository.findAll(pageable)
+        return memberRepository.findMemberPage(pageable)
+                .map(member -> new MemberDto(member.getId(), member.getUsername(), null));
+    }
+
+    /**
+     * findMember의 비동기 버전
+     * servlet thread는 바로 반환되고 응답은 repositoryExecutor에서 조회가 끝나면 전송
+     * (트랜잭션도 executor thread에서 시작하므로 @ReadOnlyRequest X)
+     *
+     * @param id
+     * @return
+     */
+    @GetMapping("/async/members/{id}")
+    public CompletableFuture<String> findMemberAsync(@PathVariable("id") Long id) {
+        return memberRepository.findUsernameById(id)
+                .thenApply(username -> {
+                    if (username == null) {
+                        throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+                    }
+
+                    return username;
+                });
+    }
+
+    @GetMapping("/async/members")
+    public CompletableFuture<Page<MemberDto>> listAsync(@PageableDefault(size = 5) Pageable pageable) {
+        return memberRepository.findMemberPageAsync(pageable)
+                .thenApply(page -> page.map(member -> new MemberDto(member.getId(), member.getUsername(), null)));
+    }
+
+    /**
+     * 회원 검색 (/members/search?username=user1&ageGoe=10&ageLoe=20&teamName=teamA&sort=age,desc)
+     * 값이 있는 조건만 WHERE에 포함, team은 teamName 조건이 있을 때만 join
+     *
+     * @param condition
+     * @param pageable
+     * @return
+     */
+    @ReadOnlyRequest
+    @GetMapping("/members/search")
+    public Page<MemberDto> search(MemberSearchCondition condition, @PageableDefault(size = 5) Pageable pageable) {
+        for (Sort.Order order : pageable.getSort()) {
+            if (!SEARCH_SORT_PROPERTIES.contains(order.getProperty())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "unsupported sort property: " + order.getProperty());
+            }
+        }
+
+        return memberRepository.findPageCompiled(MemberSpec.search(condition), pageable)
+                .map(member -> new MemberDto(member.getId(), member.getUsername(), null));
+    }
+
+    /**
+     * Keyset 페이징
+     * 응답의 nextCursor를 다음 요청의 cursor로 넘기면 됨
+     * 잘못된 cursor는 400 (repository까지 가면 InvalidDataAccessApiUsageException -> 500)
+     *
+     * @param cursor
+     * @param size
+     * @return
+     */
+    @ReadOnlyRequest
+    @GetMapping("/members/cursor")
+    public CursorSlice<MemberDto> listByCursor(@RequestParam(value = "cursor", required = false) String cursor,
+                                               @RequestParam(value = "size", defaultValue = "5") int size) {
+        try {
+            KeysetCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+
+        return memberRepository.findMemberByCursor(cursor, Math.min(size, MAX_PAGE_SIZE))
                 .map(member -> new MemberDto(member.getId(), member.getUsername(), null));
     }
 
+    /**
+     * 전체 회원 내보내기 (ndjson | csv)
+     * 응답은 servlet thread가 아닌 async thread에서 DB cursor를 읽으며 바로 씀
+     *
+     * @param format
+     * @return
+     */
+    @GetMapping("/members/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(value = "format", defaultValue = "ndjson") String format) {
+        if ("csv".equalsIgnoreCase(format)) {
+            StreamingResponseBody body = memberExportService::exportCsv;
+
+            return ResponseEntity.ok()
+                    .contentType(CSV)
+                    .body(body);
+        }
+
+        StreamingResponseBody body = memberExportService::exportNdjson;
+
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .body(body);
+    }
+
+    /**
+     * repositoryExecutor 대기열이 가득 찬 경우
+     */
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<String> rejected(TaskRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body("too many pending requests");
+    }
+
     /**
      * Domain Class Converter (권장사항 X)
      *
@@ -0,0 +1,21 @@
+package com.tistory.jaimemin.springdatajpa.dto;
+
+import lombok.Data;
+
+/**
+ * 회원 검색 조건 (값이 없는 조건은 무시)
+ */
+@Data
+public class MemberSearchCondition {
+
+    /**
+     * username 앞부분 (LIKE 'prefix%' -> username 인덱스 사용)
+     */
+    private String username;
+
+    private Integer ageGoe;
+
+    private Integer ageLoe;
+
+    private String teamName;
+}
@@ -5,16 +5,19 @@ import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedBy;
 import org.springframework.data.annotation.LastModifiedDate;
-import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import javax.persistence.Column;
 import javax.persistence.EntityListeners;
 import javax.persistence.MappedSuperclass;
 import java.time.LocalDateTime;
 
+/**
+ * 감사 필드는 BaseEntityListener가 채움
+ * (@CreatedDate 등은 AuditingHandler를 직접 쓰는 경우를 위해 유지)
+ */
 @Getter
 @MappedSuperclass
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners(BaseEntityListener.class)
 public class BaseEntity {
 
     @CreatedDate
@@ -30,4 +33,15 @@ public class BaseEntity {
 
     @LastModifiedBy
     private String lastModifiedBy;
+
+    void markCreated(String auditor, LocalDateTime now) {
+        this.createdDate = now;
+        this.createdBy = auditor;
+        markModified(auditor, now);
+    }
+
+    void markModified(String auditor, LocalDateTime now) {
+        this.lastModifiedDate = now;
+        this.lastModifiedBy = auditor;
+    }
 }
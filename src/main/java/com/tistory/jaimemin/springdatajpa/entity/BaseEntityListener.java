@@ -0,0 +1,44 @@
+package com.tistory.jaimemin.springdatajpa.entity;
+
+import com.tistory.jaimemin.springdatajpa.support.audit.TransactionClock;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.AuditorAware;
+
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
+import java.util.Optional;
+
+/**
+ * BaseEntity 감사 필드를 직접 채움
+ * AuditingEntityListener는 entity마다 @CreatedDate 등의 필드를 리플렉션으로 찾아서 설정
+ *
+ * Spring이 생성 (hibernate.resource.beans.container), AuditorAware는 첫 사용 시 조회
+ */
+public class BaseEntityListener {
+
+    private final ObjectProvider<AuditorAware<String>> auditorAwareProvider;
+
+    private AuditorAware<String> auditorAware;
+
+    public BaseEntityListener(ObjectProvider<AuditorAware<String>> auditorAwareProvider) {
+        this.auditorAwareProvider = auditorAwareProvider;
+    }
+
+    @PrePersist
+    public void prePersist(BaseEntity entity) {
+        entity.markCreated(currentAuditor(), TransactionClock.now());
+    }
+
+    @PreUpdate
+    public void preUpdate(BaseEntity entity) {
+        entity.markModified(currentAuditor(), TransactionClock.now());
+    }
+
+    private String currentAuditor() {
+        if (auditorAware == null) {
+            auditorAware = auditorAwareProvider.getIfAvailable(() -> Optional::empty);
+        }
+
+        return auditorAware.getCurrentAuditor().orElse(null);
+    }
+}
@@ -7,10 +7,13 @@ import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.domain.Persistable;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.EntityListeners;
-import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.Transient;
 import java.time.LocalDateTime;
 
 @Getter
@@ -22,9 +25,17 @@ public class Item implements Persistable<String> {
     @Id
     private String id;
 
+    /**
+     * upsert(merge, native MERGE)로 덮어쓰지 않도록 updatable = false
+     */
     @CreatedDate
+    @Column(updatable = false)
     private LocalDateTime createdDate;
 
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private boolean newEntity = true;
+
     public Item(String id) {
         this.id = id;
     }
@@ -34,10 +45,19 @@ public class Item implements Persistable<String> {
      * 새로운 entity인지 여부 확인 방법
      * -> 성능 저하 방지 가능
      *
+     * createdDate == null로 판단하면 createdDate를 가진 채 들어온 entity(import 등)를 기존 entity로 보고 merge
+     * -> DB에서 읽거나 저장한 적이 있는지로 판단
+     *
      * @return
      */
     @Override
     public boolean isNew() {
-        return createdDate == null;
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
     }
 }
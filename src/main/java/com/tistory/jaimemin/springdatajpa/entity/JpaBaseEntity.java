@@ -1,5 +1,6 @@
 package com.tistory.jaimemin.springdatajpa.entity;
 
+import com.tistory.jaimemin.springdatajpa.support.audit.TransactionClock;
 import lombok.Getter;
 
 import javax.persistence.Column;
@@ -19,13 +20,13 @@ public class JpaBaseEntity {
 
     @PrePersist
     public void prePersist() {
-        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime now = TransactionClock.now();
         this.createdDate = now;
         this.updatedDate = now;
     }
 
     @PreUpdate
     public void preUpdate() {
-        updatedDate = LocalDateTime.now();
+        updatedDate = TransactionClock.now();
     }
 }
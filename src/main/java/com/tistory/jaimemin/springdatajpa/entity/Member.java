@@ -1,22 +1,39 @@
 package com.tistory.jaimemin.springdatajpa.entity;
 
+import com.tistory.jaimemin.springdatajpa.repository.count.TotalCountInvalidationListener;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 
 @Getter
 @Setter
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_member_username", columnList = "username"),
+        @Index(name = "idx_member_age", columnList = "age"),
+        @Index(name = "idx_member_team_id", columnList = "team_id")
+})
 @ToString(of = {"id", "username", "age"})
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+@EntityListeners(TotalCountInvalidationListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @NamedQuery(
         name = "Member.findByUsername",
-        query = "SELECT m FROM Member m WHERE m.username = :username"
+        query = "SELECT m FROM Member m WHERE m.username = :username",
+        hints = @QueryHint(name = "org.hibernate.cacheable", value = "true")
 )
 public class Member extends BaseEntity {
 
+    /**
+     * allocationSize만큼 sequence를 한 번에 받아옴 (pooled optimizer)
+     * 기본값(allocationSize = 1)이면 INSERT마다 sequence 조회가 추가로 발생
+     */
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member_seq_generator")
+    @SequenceGenerator(name = "member_seq_generator", sequenceName = "member_seq", allocationSize = 50)
     @Column(name = "member_id")
     private Long id;
 
@@ -24,6 +41,14 @@ public class Member extends BaseEntity {
 
     private int age;
 
+    /**
+     * 낙관적 락 (UPDATE ... WHERE version = ?)
+     * 충돌 시 OptimisticLockException -> OptimisticRetryExecutor로 재시도
+     */
+    @Version
+    @Setter(AccessLevel.NONE)
+    private Long version;
+
     @JoinColumn(name = "team_id")
     @ManyToOne(fetch = FetchType.LAZY)
     private Team team;
@@ -0,0 +1,35 @@
+package com.tistory.jaimemin.springdatajpa.repository;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keyset(Seek) 페이징 결과
+ * offset 대신 마지막 row의 key를 cursor로 넘기기 때문에 몇 번째 페이지든 비용이 동일
+ */
+@Getter
+public class CursorSlice<T> {
+
+    private final List<T> content;
+
+    private final String nextCursor;
+
+    private final boolean hasNext;
+
+    public CursorSlice(List<T> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasNext = nextCursor != null;
+    }
+
+    public <U> CursorSlice<U> map(Function<? super T, ? extends U> converter) {
+        List<U> converted = content.stream()
+                .map(converter)
+                .collect(Collectors.toList());
+
+        return new CursorSlice<>(converted, nextCursor);
+    }
+}
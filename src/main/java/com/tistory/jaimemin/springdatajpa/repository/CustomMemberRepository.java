@@ -1,10 +1,91 @@
 package com.tistory.jaimemin.springdatajpa.repository;
 
+import com.tistory.jaimemin.springdatajpa.dto.MemberDto;
 import com.tistory.jaimemin.springdatajpa.entity.Member;
+import com.tistory.jaimemin.springdatajpa.repository.bulk.ChunkOptions;
+import com.tistory.jaimemin.springdatajpa.repository.specification.ShapedSpecification;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface CustomMemberRepository {
 
     List<Member> findMemberCustom();
+
+    /**
+     * Keyset 페이징 (member_id 오름차순)
+     *
+     * @param cursor 이전 페이지의 nextCursor, 첫 페이지는 null
+     * @param size 페이지 크기
+     * @return
+     */
+    CursorSlice<Member> findMemberByCursor(String cursor, int size);
+
+    /**
+     * findAll(Pageable)과 동일하지만 count는 TotalCountStrategy를 따름
+     */
+    Page<Member> findMemberPage(Pageable pageable);
+
+    /**
+     * findByAge(int, Pageable)과 동일하지만 count는 TotalCountStrategy를 따름
+     */
+    Page<Member> findMemberPageByAge(int age, Pageable pageable);
+
+    /**
+     * 대량 저장
+     * batchSize마다 flush + clear 하므로 호출한 트랜잭션의 영속성 컨텍스트도 비워짐
+     *
+     * @param members
+     * @param batchSize hibernate.jdbc.batch_size와 맞추는 것을 권장
+     * @return 저장한 건수
+     */
+    long saveAllBatched(Iterable<Member> members, int batchSize);
+
+    /**
+     * 전체 회원을 DB cursor로 한 줄씩 읽음
+     * 트랜잭션 안에서 호출하고 다 쓴 Stream은 반드시 close
+     */
+    Stream<MemberDto> streamMemberDto();
+
+    /**
+     * findGenericProjectionsByUsername과 같은 용도
+     * 중첩 projection도 entity 전체가 아닌 projection이 참조하는 컬럼만 select
+     *
+     * @param username
+     * @param type closed interface projection
+     * @return
+     */
+    <T> List<T> findClosedProjectionsByUsername(String username, Class<T> type);
+
+    /**
+     * bulkAgePlus를 id 구간별 청크로 나눠서 실행 (청크마다 별도 트랜잭션)
+     * 영속성 컨텍스트 전체를 비우지 않고 수정된 회원만 detach
+     *
+     * @param age
+     * @param options
+     * @return 수정된 회원 수
+     */
+    long bulkAgePlusChunked(int age, ChunkOptions options);
+
+    /**
+     * findAll(Specification, Sort)과 같지만 shapeKey + sort 단위로 렌더링된 JPQL을 캐시
+     * 두 번째 호출부터는 Criteria 트리를 만들지 않고 parameter만 바인딩
+     *
+     * @param specification 값은 parameter로만 참조해야 함
+     * @param sort
+     * @return
+     */
+    List<Member> findAllCompiled(ShapedSpecification<Member> specification, Sort sort);
+
+    /**
+     * findAllCompiled의 페이징 버전 (count JPQL도 shape별로 캐시, count는 TotalCountStrategy를 따름)
+     *
+     * @param specification
+     * @param pageable
+     * @return
+     */
+    Page<Member> findPageCompiled(ShapedSpecification<Member> specification, Pageable pageable);
 }
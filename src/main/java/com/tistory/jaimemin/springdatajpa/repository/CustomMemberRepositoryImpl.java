@@ -1,10 +1,38 @@
 package com.tistory.jaimemin.springdatajpa.repository;
 
+import com.tistory.jaimemin.springdatajpa.dto.MemberDto;
 import com.tistory.jaimemin.springdatajpa.entity.Member;
+import com.tistory.jaimemin.springdatajpa.repository.bulk.ChunkOptions;
+import com.tistory.jaimemin.springdatajpa.repository.bulk.ChunkedBulkUpdater;
+import com.tistory.jaimemin.springdatajpa.repository.count.CountQueryKey;
+import com.tistory.jaimemin.springdatajpa.repository.count.TotalCountStrategy;
+import com.tistory.jaimemin.springdatajpa.repository.plan.PrecompiledQuery;
+import com.tistory.jaimemin.springdatajpa.repository.projection.ClosedProjectionQuery;
+import com.tistory.jaimemin.springdatajpa.repository.specification.CompiledQueryCache;
+import com.tistory.jaimemin.springdatajpa.repository.specification.RenderedJpql;
+import com.tistory.jaimemin.springdatajpa.repository.specification.ShapedSpecification;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * *Impl과 같은 클래스로 선언해야 사용자 정의 Repository 구현
@@ -12,11 +40,260 @@ import java.util.List;
 @RequiredArgsConstructor
 public class CustomMemberRepositoryImpl implements CustomMemberRepository{
 
+    private static final int STREAM_FETCH_SIZE = 1000;
+
+    @PrecompiledQuery
+    static final String FIND_ALL = "SELECT m FROM Member m";
+
+    @PrecompiledQuery
+    static final String COUNT = "SELECT COUNT(m) FROM Member m";
+
+    @PrecompiledQuery
+    static final String FIND_BY_AGE = "SELECT m FROM Member m WHERE m.age = :age";
+
+    @PrecompiledQuery
+    static final String COUNT_BY_AGE = "SELECT COUNT(m) FROM Member m WHERE m.age = :age";
+
+    @PrecompiledQuery
+    static final String FIND_FIRST_BY_CURSOR = "SELECT m FROM Member m ORDER BY m.id ASC";
+
+    @PrecompiledQuery
+    static final String FIND_NEXT_BY_CURSOR = "SELECT m FROM Member m WHERE m.id > :lastId ORDER BY m.id ASC";
+
+    @PrecompiledQuery
+    static final String STREAM_MEMBER_DTO = "SELECT new com.tistory.jaimemin.springdatajpa.dto.MemberDto(m.id, m.username, t.name)"
+            + " FROM Member m LEFT JOIN m.team t ORDER BY m.id";
+
     private final EntityManager entityManager;
 
+    private final TotalCountStrategy totalCountStrategy;
+
+    private final ChunkedBulkUpdater chunkedBulkUpdater;
+
+    private final CompiledQueryCache compiledQueryCache;
+
     @Override
     public List<Member> findMemberCustom() {
-        return entityManager.createQuery("SELECT m FROM Member m")
+        return entityManager.createQuery(FIND_ALL)
+                .getResultList();
+    }
+
+    /**
+     * OFFSET은 앞의 row를 모두 읽고 버리기 때문에 뒤 페이지로 갈수록 느려짐
+     * PK 인덱스를 타고 마지막 id 이후부터 바로 읽으므로 페이지 깊이와 무관
+     * 다음 페이지 존재 여부는 size + 1개를 조회해서 판단 (count query X)
+     */
+    @Override
+    public CursorSlice<Member> findMemberByCursor(String cursor, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be greater than 0");
+        }
+
+        Long lastId = KeysetCursor.decode(cursor);
+        TypedQuery<Member> query = lastId == null
+                ? entityManager.createQuery(FIND_FIRST_BY_CURSOR, Member.class)
+                : entityManager.createQuery(FIND_NEXT_BY_CURSOR, Member.class)
+                        .setParameter("lastId", lastId);
+
+        List<Member> members = query.setMaxResults(size + 1)
+                .getResultList();
+
+        if (members.size() <= size) {
+            return new CursorSlice<>(members, null);
+        }
+
+        List<Member> content = new ArrayList<>(members.subList(0, size));
+        String nextCursor = KeysetCursor.encode(content.get(size - 1).getId());
+
+        return new CursorSlice<>(content, nextCursor);
+    }
+
+    /**
+     * 마지막 페이지면 PageableExecutionUtils가 count query 자체를 생략
+     */
+    @Override
+    public Page<Member> findMemberPage(Pageable pageable) {
+        List<Member> content = pagedQuery(FIND_ALL, pageable)
+                .getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> totalCountStrategy.count(
+                CountQueryKey.wholeTable(Member.class, "member"),
+                () -> entityManager.createQuery(COUNT, Long.class)
+                        .getSingleResult()));
+    }
+
+    @Override
+    public Page<Member> findMemberPageByAge(int age, Pageable pageable) {
+        List<Member> content = pagedQuery(FIND_BY_AGE, pageable)
+                .setParameter("age", age)
+                .getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> totalCountStrategy.count(
+                CountQueryKey.of(Member.class, COUNT_BY_AGE, age),
+                () -> entityManager.createQuery(COUNT_BY_AGE, Long.class)
+                        .setParameter("age", age)
+                        .getSingleResult()));
+    }
+
+    /**
+     * persist는 바로 INSERT 하지 않고 쓰기 지연 저장소에 쌓임
+     * flush 시점에 hibernate.jdbc.batch_size 단위로 JDBC batch 실행 (order_inserts로 테이블별 정렬)
+     * clear로 영속성 컨텍스트를 비워서 저장 건수와 무관하게 메모리 사용량 유지
+     */
+    @Override
+    @Transactional
+    public long saveAllBatched(Iterable<Member> members, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be greater than 0");
+        }
+
+        long count = 0;
+
+        for (Member member : members) {
+            entityManager.persist(member);
+
+            if (++count % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        return count;
+    }
+
+    /**
+     * entity가 아닌 DTO로 바로 조회하므로 영속성 컨텍스트에 아무것도 쌓이지 않음 (detach 불필요)
+     * getResultStream은 forward-only ScrollableResults 기반이라 fetch size 만큼씩만 메모리에 올림
+     */
+    @Override
+    public Stream<MemberDto> streamMemberDto() {
+        return entityManager.createQuery(STREAM_MEMBER_DTO, MemberDto.class)
+                .setHint(QueryHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .getResultStream();
+    }
+
+    /**
+     * NestedClosedProjections -> SELECT j0.id, j0.name, m.username FROM Member m LEFT JOIN m.team j0
+     */
+    @Override
+    public <T> List<T> findClosedProjectionsByUsername(String username, Class<T> type) {
+        ClosedProjectionQuery<T> projection = ClosedProjectionQuery.of(type);
+
+        return entityManager.createQuery("SELECT " + projection.selectClause("m") +
+                        " FROM Member m" + projection.joinClause("m") +
+                        " WHERE m.username = :username", Tuple.class)
+                .setParameter("username", username)
+                .getResultList()
+                .stream()
+                .map(projection::map)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * UPDATE 조건(age >= :age)을 다시 걸어서 id 조회 후 바뀐 row는 건너뜀
+     */
+    @Override
+    public long bulkAgePlusChunked(int age, ChunkOptions options) {
+        long updated = chunkedBulkUpdater.update(Member.class,
+                MemberJpaRepository.BULK_AGE_PLUS_IDS, MemberJpaRepository.BULK_AGE_PLUS_CHUNK,
+                Map.of("age", age), options);
+        totalCountStrategy.invalidate(Member.class);
+
+        return updated;
+    }
+
+    @Override
+    public List<Member> findAllCompiled(ShapedSpecification<Member> specification, Sort sort) {
+        return compiledQuery(specification, sort)
                 .getResultList();
     }
+
+    @Override
+    public Page<Member> findPageCompiled(ShapedSpecification<Member> specification, Pageable pageable) {
+        TypedQuery<Member> query = compiledQuery(specification, pageable.getSort());
+
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+
+        List<Member> content = query.getResultList();
+        String countQuery = compiledQueryCache.get(Member.class, "count|" + specification.shapeKey(),
+                () -> renderCount(specification));
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> totalCountStrategy.count(
+                CountQueryKey.of(Member.class, countQuery, new TreeMap<>(specification.parameters())),
+                () -> bind(entityManager.createQuery(countQuery, Long.class), specification)
+                        .getSingleResult()));
+    }
+
+    private TypedQuery<Member> compiledQuery(ShapedSpecification<Member> specification, Sort sort) {
+        String jpql = compiledQueryCache.get(Member.class, specification.shapeKey() + "|" + sort,
+                () -> render(specification, sort));
+
+        return bind(entityManager.createQuery(jpql, Member.class), specification);
+    }
+
+    /**
+     * Hibernate는 CriteriaQuery를 JPQL로 렌더링한 뒤 실행하므로 그 JPQL을 그대로 재사용
+     * Values 대신 직접 넣은 값은 inline 되거나 내부 parameter로 바뀌어 캐시된 JPQL로는 재사용할 수 없으므로 거부 (RenderedJpql)
+     */
+    private String render(ShapedSpecification<Member> specification, Sort sort) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Member> criteria = builder.createQuery(Member.class);
+        Root<Member> root = criteria.from(Member.class);
+        Predicate predicate = specification.toPredicate(root, criteria, builder, ShapedSpecification.Values.parameters(builder));
+
+        if (predicate != null) {
+            criteria.where(predicate);
+        }
+
+        if (sort.isSorted()) {
+            criteria.orderBy(QueryUtils.toOrders(sort, root, builder));
+        }
+
+        return toJpql(entityManager.createQuery(criteria), specification);
+    }
+
+    private String renderCount(ShapedSpecification<Member> specification) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> criteria = builder.createQuery(Long.class);
+        Root<Member> root = criteria.from(Member.class);
+        Predicate predicate = specification.toPredicate(root, criteria, builder, ShapedSpecification.Values.parameters(builder));
+        criteria.select(builder.count(root));
+
+        if (predicate != null) {
+            criteria.where(predicate);
+        }
+
+        return toJpql(entityManager.createQuery(criteria), specification);
+    }
+
+    /**
+     * 검사에 실패하면 예외가 캐시 loader 밖으로 나가므로 캐시에 저장되지 않음
+     */
+    private static String toJpql(TypedQuery<?> query, ShapedSpecification<?> specification) {
+        return RenderedJpql.verify(query.unwrap(org.hibernate.query.Query.class).getQueryString(), specification);
+    }
+
+    private static <T> TypedQuery<T> bind(TypedQuery<T> query, ShapedSpecification<?> specification) {
+        specification.parameters().forEach(query::setParameter);
+
+        return query;
+    }
+
+    private TypedQuery<Member> pagedQuery(String query, Pageable pageable) {
+        TypedQuery<Member> typedQuery = entityManager.createQuery(
+                QueryUtils.applySorting(query, pageable.getSort(), "m"), Member.class);
+
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+
+        return typedQuery;
+    }
 }
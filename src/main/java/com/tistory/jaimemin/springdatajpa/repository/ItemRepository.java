@@ -1,9 +1,10 @@
 package com.tistory.jaimemin.springdatajpa.repository;
 
 import com.tistory.jaimemin.springdatajpa.entity.Item;
+import com.tistory.jaimemin.springdatajpa.repository.assigned.AssignedIdRepository;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface ItemRepository extends JpaRepository<Item, Long> {
+public interface ItemRepository extends JpaRepository<Item, String>, AssignedIdRepository<Item> {
 }
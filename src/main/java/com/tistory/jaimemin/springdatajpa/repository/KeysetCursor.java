@@ -0,0 +1,38 @@
+package com.tistory.jaimemin.springdatajpa.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 클라이언트에게는 불투명한(opaque) 문자열로만 노출되는 cursor
+ * 내부적으로는 마지막으로 읽은 member_id
+ */
+public final class KeysetCursor {
+
+    private KeysetCursor() {
+    }
+
+    public static String encode(Long lastId) {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(String.valueOf(lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param cursor 첫 페이지는 null 혹은 빈 문자열
+     * @return 마지막으로 읽은 id, 첫 페이지면 null
+     */
+    public static Long decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+
+            return Long.valueOf(decoded);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("invalid cursor: " + cursor, e);
+        }
+    }
+}
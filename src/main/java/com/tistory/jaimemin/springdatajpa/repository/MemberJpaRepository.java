@@ -1,19 +1,59 @@
 package com.tistory.jaimemin.springdatajpa.repository;
 
 import com.tistory.jaimemin.springdatajpa.entity.Member;
+import com.tistory.jaimemin.springdatajpa.repository.bulk.ChunkOptions;
+import com.tistory.jaimemin.springdatajpa.repository.bulk.ChunkedBulkUpdater;
+import com.tistory.jaimemin.springdatajpa.repository.count.CountQueryKey;
+import com.tistory.jaimemin.springdatajpa.repository.count.TotalCountStrategy;
+import com.tistory.jaimemin.springdatajpa.repository.plan.PrecompiledQuery;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Repository
+@RequiredArgsConstructor
 public class MemberJpaRepository {
 
+    @PrecompiledQuery
+    static final String FIND_ALL = "SELECT m FROM Member m";
+
+    @PrecompiledQuery
+    static final String COUNT = "SELECT COUNT(m) FROM Member m";
+
+    @PrecompiledQuery
+    static final String FIND_BY_USERNAME_AND_AGE_GREATER_THAN = "SELECT m FROM Member m WHERE m.username = :username and m.age > :age";
+
+    @PrecompiledQuery
+    static final String FIND_BY_PAGE = "SELECT m FROM Member m WHERE m.age = :age ORDER BY m.username DESC";
+
+    @PrecompiledQuery
+    static final String COUNT_BY_AGE = "SELECT COUNT(m) FROM Member m WHERE m.age = :age";
+
+    @PrecompiledQuery
+    static final String BULK_AGE_PLUS = "UPDATE Member m SET m.age = m.age + 1, m.version = m.version + 1 WHERE m.age >= :age";
+
+    @PrecompiledQuery
+    static final String BULK_AGE_PLUS_IDS = "SELECT m.id FROM Member m WHERE m.id > :lastId AND m.age >= :age ORDER BY m.id";
+
+    /**
+     * ChunkedBulkUpdater가 JDBC로 실행 (수정된 id만 2차 캐시에서 제거)
+     */
+    @PrecompiledQuery(nativeQuery = true)
+    static final String BULK_AGE_PLUS_CHUNK = "UPDATE member SET age = age + 1, version = version + 1 WHERE member_id IN (:ids) AND age >= :age";
+
     @PersistenceContext
     private EntityManager entityManager;
 
+    private final TotalCountStrategy totalCountStrategy;
+
+    private final ChunkedBulkUpdater chunkedBulkUpdater;
+
     public Member save(Member member) {
         entityManager.persist(member);
 
@@ -24,29 +64,34 @@ public class MemberJpaRepository {
         entityManager.remove(member);
     }
 
+    @Transactional(readOnly = true)
     public List<Member> findAll() {
         // JPQL
-        return entityManager.createQuery("SELECT m FROM Member m", Member.class)
+        return entityManager.createQuery(FIND_ALL, Member.class)
                 .getResultList();
     }
 
+    @Transactional(readOnly = true)
     public Optional<Member> findById(Long id) {
         Member member = entityManager.find(Member.class, id);
 
         return Optional.ofNullable(member);
     }
 
+    @Transactional(readOnly = true)
     public long count() {
-        return entityManager.createQuery("SELECT COUNT(m) FROM Member m", Long.class)
+        return entityManager.createQuery(COUNT, Long.class)
                 .getSingleResult();
     }
 
+    @Transactional(readOnly = true)
     public Member find(Long id) {
         return entityManager.find(Member.class, id);
     }
 
+    @Transactional(readOnly = true)
     public List<Member> findByUsernameAndAgeGreaterThan(String username, int age) {
-        return entityManager.createQuery("SELECT m FROM Member m WHERE m.username = :username and m.age > :age")
+        return entityManager.createQuery(FIND_BY_USERNAME_AND_AGE_GREATER_THAN)
                 .setParameter("username", username)
                 .setParameter("age", age)
                 .getResultList();
@@ -58,29 +103,50 @@ public class MemberJpaRepository {
      * @param username
      * @return
      */
+    @Transactional(readOnly = true)
     public List<Member> findByUsername(String username) {
         return entityManager.createNamedQuery("Member.findByUsername", Member.class)
                 .setParameter("username", username)
                 .getResultList();
     }
 
+    @Transactional(readOnly = true)
     public List<Member> findByPage(int age, int offset, int limit) {
-        return entityManager.createQuery("SELECT m FROM Member m WHERE m.age = :age ORDER BY m.username DESC")
+        return entityManager.createQuery(FIND_BY_PAGE)
                 .setParameter("age", age)
                 .setFirstResult(offset)
                 .setMaxResults(limit)
                 .getResultList();
     }
 
+    @Transactional(readOnly = true)
     public long totalCount(int age) {
-        return entityManager.createQuery("SELECT COUNT(m) FROM Member m WHERE m.age = :age", Long.class)
-                .setParameter("age", age)
-                .getSingleResult();
+        return totalCountStrategy.count(CountQueryKey.of(Member.class, COUNT_BY_AGE, age),
+                () -> entityManager.createQuery(COUNT_BY_AGE, Long.class)
+                        .setParameter("age", age)
+                        .getSingleResult());
     }
 
+    /**
+     * bulk 연산은 entity listener를 타지 않으므로 count 캐시 직접 무효화
+     */
     public int bulkAgePlus(int age) {
-        return entityManager.createQuery("UPDATE Member m SET m.age = m.age + 1 WHERE m.age >= :age")
+        int updated = entityManager.createQuery(BULK_AGE_PLUS)
                 .setParameter("age", age)
                 .executeUpdate();
+        totalCountStrategy.invalidate(Member.class);
+
+        return updated;
+    }
+
+    /**
+     * bulkAgePlus와 결과는 같지만 options.chunkSize 단위로 나눠서 커밋
+     */
+    public long bulkAgePlusChunked(int age, ChunkOptions options) {
+        long updated = chunkedBulkUpdater.update(Member.class, BULK_AGE_PLUS_IDS, BULK_AGE_PLUS_CHUNK,
+                Map.of("age", age), options);
+        totalCountStrategy.invalidate(Member.class);
+
+        return updated;
     }
 }
@@ -1,5 +1,8 @@
 package com.tistory.jaimemin.springdatajpa.repository;
 
+import com.tistory.jaimemin.springdatajpa.repository.projection.GeneratedProjection;
+
+@GeneratedProjection
 public interface MemberProjection {
 
     Long getId();
@@ -1,11 +1,13 @@
 package com.tistory.jaimemin.springdatajpa.repository;
 
+import com.tistory.jaimemin.springdatajpa.config.AsyncConfig;
 import com.tistory.jaimemin.springdatajpa.dto.MemberDto;
 import com.tistory.jaimemin.springdatajpa.entity.Member;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.LockModeType;
@@ -13,9 +15,10 @@ import javax.persistence.QueryHint;
 import java.lang.reflect.Type;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @Repository
-public interface MemberRepository extends JpaRepository<Member, Long>, CustomMemberRepository {
+public interface MemberRepository extends JpaRepository<Member, Long>, JpaSpecificationExecutor<Member>, CustomMemberRepository {
 
     List<Member> findByUsernameAndAgeGreaterThan(String username, int age);
 
@@ -40,6 +43,9 @@ public interface MemberRepository extends JpaRepository<Member, Long>, CustomMem
     @Query("SELECT new com.tistory.jaimemin.springdatajpa.dto.MemberDto(m.id, m.username, t.name) FROM Member m JOIN m.team t")
     List<MemberDto> findMemberDto();
 
+    /**
+     * names가 datajpa.in-clause.chunk-size보다 크면 나눠서 조회 (InClauseChunkingPostProcessor)
+     */
     @Query("SELECT m FROM Member m WHERE m.username in :names")
     List<Member> findByNames(@Param("names") List<String> names);
 
@@ -62,7 +68,7 @@ public interface MemberRepository extends JpaRepository<Member, Long>, CustomMem
      * @return
      */
     @Modifying(clearAutomatically = true)
-    @Query("UPDATE Member m SET m.age = m.age + 1 WHERE m.age >= :age")
+    @Query("UPDATE Member m SET m.age = m.age + 1, m.version = m.version + 1 WHERE m.age >= :age")
     int bulkAgePlus(@Param("age") int age);
 
     /**
@@ -107,6 +113,10 @@ public interface MemberRepository extends JpaRepository<Member, Long>, CustomMem
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     List<Member> findLockByUsername(String username);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM Member m WHERE m.id = :id")
+    Optional<Member> findLockById(@Param("id") Long id);
+
     List<UsernameOnlyDto> findProjectionsByUsername(@Param("username") String username);
 
     <T> List<T> findGenericProjectionsByUsername(@Param("username") String username, Class<T> type);
@@ -114,8 +124,40 @@ public interface MemberRepository extends JpaRepository<Member, Long>, CustomMem
     @Query(value = "SELECT * FROM member WHERE username = ?", nativeQuery = true)
     Member findByNativeQuery(String username);
 
-    @Query(value = "SELECT m.member_id as id, m.username, t.name as teamName FROM member m LEFT JOIN team t"
+    /**
+     * LEFT JOIN은 FK -> PK 조인이라 row 수가 member와 같으므로 count는 member만 세면 됨
+     * ON 절이 빠지면 member x team 카테시안 곱이 되니 주의 (NativeQueryValidator가 기동 시 검사)
+     */
+    @Query(value = "SELECT m.member_id as id, m.username, t.name as teamName FROM member m LEFT JOIN team t ON m.team_id = t.team_id"
             , countQuery = "SELECT COUNT(*) FROM member"
             , nativeQuery = true)
     Page<MemberProjection> findByNativeProjection(Pageable pageable);
+
+    /**
+     * findUsernameById와 같은 쿼리를 호출한 thread에서 실행 (blocking / async 비교용)
+     *
+     * @param id
+     * @return
+     */
+    @Query("SELECT m.username FROM Member m WHERE m.id = :id")
+    Optional<String> findUsername(@Param("id") Long id);
+
+    // 비동기: repositoryExecutor(DB pool 크기)에서 실행, 호출한 thread는 DB 작업을 기다리지 않음
+
+    /**
+     * @param id
+     * @return 없으면 null
+     */
+    @Async(AsyncConfig.REPOSITORY_EXECUTOR)
+    @Query("SELECT m.username FROM Member m WHERE m.id = :id")
+    CompletableFuture<String> findUsernameById(@Param("id") Long id);
+
+    /**
+     * 목록 조회와 count 모두 executor thread에서 실행
+     * 반환된 Member는 준영속 상태이므로 LAZY 연관관계 접근 X
+     */
+    @Async(AsyncConfig.REPOSITORY_EXECUTOR)
+    default CompletableFuture<Page<Member>> findMemberPageAsync(Pageable pageable) {
+        return CompletableFuture.completedFuture(findMemberPage(pageable));
+    }
 }
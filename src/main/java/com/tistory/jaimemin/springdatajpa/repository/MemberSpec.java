@@ -1,28 +1,82 @@
 package com.tistory.jaimemin.springdatajpa.repository;
 
+import com.tistory.jaimemin.springdatajpa.dto.MemberSearchCondition;
 import com.tistory.jaimemin.springdatajpa.entity.Member;
 import com.tistory.jaimemin.springdatajpa.entity.Team;
-import org.springframework.data.jpa.domain.Specification;
+import com.tistory.jaimemin.springdatajpa.repository.specification.ShapedSpecification;
 import org.springframework.util.StringUtils;
 
 import javax.persistence.criteria.*;
+import java.util.Collections;
+import java.util.Map;
 
+/**
+ * 값은 values.get(name)으로 참조 -> 값이 달라도 같은 shape (findAllCompiled에서 JPQL 재사용)
+ */
 public class MemberSpec {
 
-    public static Specification<Member> teamName(final String teamName) {
-        return (root, query, criteriaBuilder) -> {
-            if (StringUtils.isEmpty(teamName)) {
-                return null;
-            }
+    public static ShapedSpecification<Member> teamName(final String teamName) {
+        if (StringUtils.isEmpty(teamName)) {
+            return ShapedSpecification.empty();
+        }
 
+        return ShapedSpecification.of("teamName", Collections.singletonMap("teamName", teamName), (root, query, criteriaBuilder, values) -> {
             Join<Member, Team> t = root.join("team", JoinType.INNER);
 
-            return criteriaBuilder.equal(t.get("name"), teamName);
-        };
+            return criteriaBuilder.equal(t.get("name"), values.get("teamName", String.class));
+        });
     }
 
-    public static Specification<Member> username(final String username) {
-        return (Specification<Member>) (root, query, builder) ->
-            builder.equal(root.get("username"), username);
+    public static ShapedSpecification<Member> username(final String username) {
+        return ShapedSpecification.of("username", Collections.singletonMap("username", username), (root, query, builder, values) ->
+            builder.equal(root.get("username"), values.get("username", String.class)));
+    }
+
+    /**
+     * LIKE 'prefix%' (앞부분 일치만 인덱스 사용 가능)
+     * prefix의 %, _ 는 문자 그대로 검색
+     * escape 문자도 literal이면 렌더링 시 내부 parameter가 되므로 parameter로 선언
+     */
+    public static ShapedSpecification<Member> usernameStartsWith(final String prefix) {
+        if (StringUtils.isEmpty(prefix)) {
+            return ShapedSpecification.empty();
+        }
+
+        String pattern = prefix.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+
+        return ShapedSpecification.of("usernamePrefix", Map.of("usernamePrefix", pattern, "usernameEscape", '\\'), (root, query, builder, values) ->
+            builder.like(root.<String>get("username"), values.get("usernamePrefix", String.class),
+                    values.get("usernameEscape", Character.class)));
+    }
+
+    public static ShapedSpecification<Member> ageGoe(final Integer age) {
+        if (age == null) {
+            return ShapedSpecification.empty();
+        }
+
+        return ShapedSpecification.of("ageGoe", Collections.singletonMap("ageGoe", age), (root, query, builder, values) ->
+            builder.greaterThanOrEqualTo(root.<Integer>get("age"), values.get("ageGoe", Integer.class)));
+    }
+
+    public static ShapedSpecification<Member> ageLoe(final Integer age) {
+        if (age == null) {
+            return ShapedSpecification.empty();
+        }
+
+        return ShapedSpecification.of("ageLoe", Collections.singletonMap("ageLoe", age), (root, query, builder, values) ->
+            builder.lessThanOrEqualTo(root.<Integer>get("age"), values.get("ageLoe", Integer.class)));
+    }
+
+    /**
+     * 값이 있는 조건만 AND로 조합
+     * team은 teamName 조건이 있을 때만 join
+     */
+    public static ShapedSpecification<Member> search(final MemberSearchCondition condition) {
+        return usernameStartsWith(condition.getUsername())
+                .and(ageGoe(condition.getAgeGoe()))
+                .and(ageLoe(condition.getAgeLoe()))
+                .and(teamName(condition.getTeamName()));
     }
 }
@@ -1,11 +1,15 @@
 package com.tistory.jaimemin.springdatajpa.repository;
 
+import com.tistory.jaimemin.springdatajpa.repository.projection.GeneratedProjection;
+
+@GeneratedProjection
 public interface NestedClosedProjections {
 
     String getUsername();
 
     // LEFT JOIN
     // Team은 최적화 안되는 문제
+    // -> findClosedProjectionsByUsername으로 조회하면 t.name만 select
     TeamInfo getTeam();
 
     interface TeamInfo {
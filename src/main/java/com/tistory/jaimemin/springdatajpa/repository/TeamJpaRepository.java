@@ -1,7 +1,9 @@
 package com.tistory.jaimemin.springdatajpa.repository;
 
 import com.tistory.jaimemin.springdatajpa.entity.Team;
+import com.tistory.jaimemin.springdatajpa.repository.plan.PrecompiledQuery;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
@@ -11,6 +13,12 @@ import java.util.Optional;
 @Repository
 public class TeamJpaRepository {
 
+    @PrecompiledQuery
+    static final String FIND_ALL = "SELECT t FROM Team t";
+
+    @PrecompiledQuery
+    static final String COUNT = "SELECT COUNT(t) FROM Team t";
+
     @PersistenceContext
     private EntityManager entityManager;
 
@@ -24,22 +32,26 @@ public class TeamJpaRepository {
         entityManager.remove(team);
     }
 
+    @Transactional(readOnly = true)
     public List<Team> findAll() {
-        return entityManager.createQuery("SELECT t FROM Team t", Team.class)
+        return entityManager.createQuery(FIND_ALL, Team.class)
                 .getResultList();
     }
 
+    @Transactional(readOnly = true)
     public Optional<Team> findById(Long id) {
         Team team = entityManager.find(Team.class, id);
 
         return Optional.ofNullable(team);
     }
 
+    @Transactional(readOnly = true)
     public long count() {
-        return entityManager.createQuery("SELECT COUNT(t) FROM Team t", Long.class)
+        return entityManager.createQuery(COUNT, Long.class)
                 .getSingleResult();
     }
 
+    @Transactional(readOnly = true)
     public Team find(Long id) {
         return entityManager.find(Team.class, id);
     }
@@ -1,9 +1,54 @@
 package com.tistory.jaimemin.springdatajpa.repository;
 
 import com.tistory.jaimemin.springdatajpa.entity.Team;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Repository
 public interface TeamRepository extends JpaRepository<Team, Long> {
+
+    @Query(value = "SELECT t.id FROM Team t", countQuery = "SELECT COUNT(t) FROM Team t")
+    Page<Long> findIdPage(Pageable pageable);
+
+    /**
+     * 컬렉션 fetch join 결과는 team 수 * member 수만큼 row가 나오므로 DISTINCT로 team 중복 제거
+     * passDistinctThrough = false -> DISTINCT는 SQL로 보내지 않고 메모리에서만 적용
+     */
+    @EntityGraph(attributePaths = "members")
+    @QueryHints(@QueryHint(name = "hibernate.query.passDistinctThrough", value = "false"))
+    @Query("SELECT DISTINCT t FROM Team t WHERE t.id IN :ids")
+    List<Team> findWithMembersByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 컬렉션 fetch join + Pageable은 전체를 조회한 뒤 메모리에서 페이징 (HHH000104)
+     * 1. id만 SQL로 페이징 (+ count)
+     * 2. 해당 id의 team + members를 fetch join으로 한 번에 조회
+     * 순서는 1번 결과(Pageable의 sort)를 따름
+     */
+    default Page<Team> findAllWithMembers(Pageable pageable) {
+        Page<Long> ids = findIdPage(pageable);
+
+        if (ids.isEmpty()) {
+            return ids.map(id -> null);
+        }
+
+        Map<Long, Team> teams = findWithMembersByIdIn(ids.getContent())
+                .stream()
+                .collect(Collectors.toMap(Team::getId, Function.identity()));
+
+        return ids.map(teams::get);
+    }
 }
@@ -1,7 +1,9 @@
 package com.tistory.jaimemin.springdatajpa.repository;
 
+import com.tistory.jaimemin.springdatajpa.repository.projection.GeneratedProjection;
 import org.springframework.beans.factory.annotation.Value;
 
+@GeneratedProjection
 public interface UsernameOnly {
 
     // Spring SPL 문법
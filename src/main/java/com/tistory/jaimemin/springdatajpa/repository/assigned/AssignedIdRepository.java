@@ -0,0 +1,54 @@
+package com.tistory.jaimemin.springdatajpa.repository.assigned;
+
+import java.util.List;
+
+/**
+ * id를 직접 할당하는 entity (GeneratedValue X)용 저장 기능
+ * SimpleJpaRepository.save는 isNew()가 false면 merge -> INSERT 전에 SELECT 발생
+ *
+ * 구현은 AssignedIdRepositoryImpl (repository fragment)
+ */
+public interface AssignedIdRepository<T> {
+
+    /**
+     * merge 없이 바로 persist
+     * 이미 있는 id면 flush 시점에 PK 위반
+     *
+     * @param entity
+     * @return
+     */
+    <S extends T> S insert(S entity);
+
+    /**
+     * merge 없이 persist, batchSize마다 flush + clear
+     *
+     * @param entities
+     * @param batchSize
+     * @return 저장 건수
+     */
+    long persistAll(Iterable<? extends T> entities, int batchSize);
+
+    /**
+     * 1000건 단위로 기존 entity를 WHERE id IN (...) 한 번으로 미리 읽어두고
+     * 없는 id는 persist, 있는 id는 merge (영속성 컨텍스트에 있으므로 추가 SELECT X)
+     * persistAll처럼 1000건마다 flush + clear
+     *
+     * @param entities
+     * @return 저장된 entity (입력 순서, clear 이후라 준영속 상태)
+     */
+    <S extends T> List<S> upsertAll(Iterable<S> entities);
+
+    /**
+     * 영속성 컨텍스트를 거치지 않고 DB 방언별 upsert SQL을 JDBC batch로 실행
+     * - H2: MERGE INTO ... USING ... WHEN MATCHED / WHEN NOT MATCHED
+     * - PostgreSQL: INSERT ... ON CONFLICT (id) DO UPDATE
+     * - MySQL/MariaDB: INSERT ... ON DUPLICATE KEY UPDATE
+     *
+     * updatable = false 컬럼(createdDate 등)은 기존 row면 유지
+     * 연관관계, @Version, 상속 entity는 지원하지 않음
+     *
+     * @param entities
+     * @return 처리 건수
+     */
+    long upsertAllNative(Iterable<? extends T> entities);
+}
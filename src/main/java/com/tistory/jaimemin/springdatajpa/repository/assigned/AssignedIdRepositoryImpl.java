@@ -0,0 +1,198 @@
+package com.tistory.jaimemin.springdatajpa.repository.assigned;
+
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.auditing.AuditingHandler;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.ClassUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceUnitUtil;
+import javax.persistence.metamodel.EntityType;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * AssignedIdRepository 구현 (entity 타입은 넘어온 entity의 클래스로 판단)
+ */
+public class AssignedIdRepositoryImpl<T> implements AssignedIdRepository<T> {
+
+    private static final int IN_CHUNK_SIZE = 1000;
+
+    private static final int JDBC_BATCH_SIZE = 100;
+
+    private final EntityManager entityManager;
+
+    private final ObjectProvider<AuditingHandler> auditingHandler;
+
+    private final Map<Class<?>, NativeUpsert> nativeUpserts = new ConcurrentHashMap<>();
+
+    public AssignedIdRepositoryImpl(EntityManager entityManager, ObjectProvider<AuditingHandler> auditingHandler) {
+        this.entityManager = entityManager;
+        this.auditingHandler = auditingHandler;
+    }
+
+    @Override
+    @Transactional
+    public <S extends T> S insert(S entity) {
+        entityManager.persist(entity);
+
+        return entity;
+    }
+
+    @Override
+    @Transactional
+    public long persistAll(Iterable<? extends T> entities, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be greater than 0");
+        }
+
+        long count = 0;
+
+        for (T entity : entities) {
+            entityManager.persist(entity);
+
+            if (++count % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        return count;
+    }
+
+    @Override
+    @Transactional
+    public <S extends T> List<S> upsertAll(Iterable<S> entities) {
+        List<S> list = toList(entities);
+
+        if (list.isEmpty()) {
+            return list;
+        }
+
+        PersistenceUnitUtil persistenceUnitUtil = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+        EntityType<?> entityType = entityType(list.get(0));
+        List<S> result = new ArrayList<>(list.size());
+
+        // persistAll처럼 IN_CHUNK_SIZE마다 flush + clear (영속성 컨텍스트가 rows만큼 커지지 않도록)
+        for (int from = 0; from < list.size(); from += IN_CHUNK_SIZE) {
+            List<S> chunk = list.subList(from, Math.min(from + IN_CHUNK_SIZE, list.size()));
+            Set<Object> existingIds = loadExisting(entityType, chunk, persistenceUnitUtil);
+
+            for (S entity : chunk) {
+                Object id = persistenceUnitUtil.getIdentifier(entity);
+
+                if (existingIds.contains(id)) {
+                    result.add(entityManager.merge(entity));
+                } else {
+                    entityManager.persist(entity);
+                    existingIds.add(id);
+                    result.add(entity);
+                }
+            }
+
+            entityManager.flush();
+            entityManager.clear();
+        }
+
+        return result;
+    }
+
+    @Override
+    @Transactional
+    public long upsertAllNative(Iterable<? extends T> entities) {
+        List<T> list = toList(entities);
+
+        if (list.isEmpty()) {
+            return 0;
+        }
+
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        Class<?> type = ClassUtils.getUserClass(list.get(0));
+        NativeUpsert upsert = nativeUpserts.computeIfAbsent(type, key -> NativeUpsert.of(
+                (AbstractEntityPersister) session.getFactory().getMetamodel().entityPersister(key),
+                session.getJdbcServices().getDialect()));
+
+        // @CreatedDate 등은 entity listener를 타지 않으므로 직접 채움 (기존 row는 updatable = false라 유지)
+        auditingHandler.ifAvailable(handler -> list.forEach(handler::markCreated));
+        entityManager.flush();
+
+        session.doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(upsert.getSql())) {
+                int pending = 0;
+
+                for (T entity : list) {
+                    upsert.bind(statement, entity, session);
+                    statement.addBatch();
+
+                    if (++pending == JDBC_BATCH_SIZE) {
+                        statement.executeBatch();
+                        pending = 0;
+                    }
+                }
+
+                if (pending > 0) {
+                    statement.executeBatch();
+                }
+            }
+        });
+
+        detach(session, upsert.getPersister(), list);
+
+        return list.size();
+    }
+
+    private <S> Set<Object> loadExisting(EntityType<?> entityType, List<S> entities, PersistenceUnitUtil persistenceUnitUtil) {
+        String idName = entityType.getId(entityType.getIdType().getJavaType()).getName();
+        String query = "SELECT e FROM " + entityType.getName() + " e WHERE e." + idName + " IN :ids";
+        List<Object> ids = new ArrayList<>(entities.size());
+
+        for (S entity : entities) {
+            ids.add(persistenceUnitUtil.getIdentifier(entity));
+        }
+
+        Set<Object> existingIds = new HashSet<>();
+
+        for (Object existing : entityManager.createQuery(query).setParameter("ids", ids).getResultList()) {
+            existingIds.add(persistenceUnitUtil.getIdentifier(existing));
+        }
+
+        return existingIds;
+    }
+
+    private EntityType<?> entityType(Object entity) {
+        return entityManager.getMetamodel().entity(ClassUtils.getUserClass(entity));
+    }
+
+    /**
+     * native로 바뀐 row가 영속성 컨텍스트에 있으면 detach (다시 조회하면 DB 값을 읽음)
+     */
+    private void detach(SessionImplementor session, EntityPersister persister, List<T> entities) {
+        for (T entity : entities) {
+            EntityKey key = session.generateEntityKey(persister.getIdentifier(entity, session), persister);
+            Object managed = session.getPersistenceContextInternal().getEntity(key);
+
+            if (managed != null) {
+                session.evict(managed);
+            }
+        }
+    }
+
+    private static <S> List<S> toList(Iterable<? extends S> entities) {
+        List<S> list = new ArrayList<>();
+        entities.forEach(list::add);
+
+        return list;
+    }
+}
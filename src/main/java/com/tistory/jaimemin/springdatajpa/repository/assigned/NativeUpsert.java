@@ -0,0 +1,141 @@
+package com.tistory.jaimemin.springdatajpa.repository.assigned;
+
+import lombok.Getter;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.dialect.PostgreSQL81Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.type.Type;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * entity 하나에 대한 방언별 upsert SQL과 parameter 바인딩
+ * 컬럼 순서: id, insert 가능한 단일 컬럼 property
+ */
+@Getter
+final class NativeUpsert {
+
+    private final AbstractEntityPersister persister;
+
+    private final String sql;
+
+    private final int[] properties;
+
+    private NativeUpsert(AbstractEntityPersister persister, String sql, int[] properties) {
+        this.persister = persister;
+        this.sql = sql;
+        this.properties = properties;
+    }
+
+    static NativeUpsert of(AbstractEntityPersister persister, Dialect dialect) {
+        if (persister.isVersioned() || persister.isInherited() || persister.getEntityMetamodel().hasSubclasses()) {
+            throw new IllegalArgumentException("native upsert does not support versioned or inherited entity: "
+                    + persister.getEntityName());
+        }
+
+        if (persister.getIdentifierColumnNames().length != 1) {
+            throw new IllegalArgumentException("native upsert requires a single id column: " + persister.getEntityName());
+        }
+
+        SessionFactoryImplementor factory = persister.getFactory();
+        Type[] types = persister.getPropertyTypes();
+        boolean[] insertable = persister.getPropertyInsertability();
+        boolean[] updatable = persister.getPropertyUpdateability();
+        List<Integer> properties = new ArrayList<>();
+        List<Column> columns = new ArrayList<>();
+        columns.add(new Column(persister.getIdentifierColumnNames()[0], false,
+                castType(dialect, persister.getIdentifierType(), factory)));
+
+        for (int i = 0; i < types.length; i++) {
+            if (types[i].isCollectionType() || !insertable[i]) {
+                continue;
+            }
+
+            if (types[i].isAssociationType() || persister.getPropertyColumnNames(i).length != 1) {
+                throw new IllegalArgumentException("native upsert supports single column basic properties only: "
+                        + persister.getEntityName() + "." + persister.getPropertyNames()[i]);
+            }
+
+            properties.add(i);
+            columns.add(new Column(persister.getPropertyColumnNames(i)[0], updatable[i], castType(dialect, types[i], factory)));
+        }
+
+        return new NativeUpsert(persister, sql(dialect, persister.getTableName(), columns),
+                properties.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    void bind(PreparedStatement statement, Object entity, SharedSessionContractImplementor session) throws SQLException {
+        persister.getIdentifierType().nullSafeSet(statement, persister.getIdentifier(entity, session), 1, session);
+        Type[] types = persister.getPropertyTypes();
+
+        for (int i = 0; i < properties.length; i++) {
+            int property = properties[i];
+            types[property].nullSafeSet(statement, persister.getPropertyValue(entity, property), i + 2, session);
+        }
+    }
+
+    private static String sql(Dialect dialect, String table, List<Column> columns) {
+        String id = columns.get(0).name;
+        String names = columns.stream().map(column -> column.name).collect(Collectors.joining(", "));
+        String placeholders = columns.stream().map(column -> "?").collect(Collectors.joining(", "));
+        List<Column> updates = columns.stream().filter(column -> column.updatable).collect(Collectors.toList());
+
+        if (dialect instanceof H2Dialect) {
+            // 타입을 알 수 없는 parameter는 H2가 거부하므로 CAST
+            String source = columns.stream()
+                    .map(column -> "CAST(? AS " + column.castType + ") AS " + column.name)
+                    .collect(Collectors.joining(", "));
+            String matched = updates.isEmpty() ? "" : " WHEN MATCHED THEN UPDATE SET " + updates.stream()
+                    .map(column -> column.name + " = s." + column.name)
+                    .collect(Collectors.joining(", "));
+
+            return "MERGE INTO " + table + " t USING (SELECT " + source + ") s ON (t." + id + " = s." + id + ")"
+                    + matched
+                    + " WHEN NOT MATCHED THEN INSERT (" + names + ") VALUES ("
+                    + columns.stream().map(column -> "s." + column.name).collect(Collectors.joining(", ")) + ")";
+        }
+
+        String insert = "INSERT INTO " + table + " (" + names + ") VALUES (" + placeholders + ")";
+
+        if (dialect instanceof PostgreSQL81Dialect) {
+            return insert + " ON CONFLICT (" + id + ") DO " + (updates.isEmpty() ? "NOTHING" : "UPDATE SET " + updates.stream()
+                    .map(column -> column.name + " = EXCLUDED." + column.name)
+                    .collect(Collectors.joining(", ")));
+        }
+
+        if (dialect instanceof MySQLDialect) {
+            return insert + " ON DUPLICATE KEY UPDATE " + (updates.isEmpty() ? id + " = " + id : updates.stream()
+                    .map(column -> column.name + " = VALUES(" + column.name + ")")
+                    .collect(Collectors.joining(", ")));
+        }
+
+        throw new UnsupportedOperationException("native upsert is not supported for " + dialect.getClass().getSimpleName());
+    }
+
+    private static String castType(Dialect dialect, Type type, SessionFactoryImplementor factory) {
+        return dialect.getCastTypeName(type.sqlTypes(factory)[0]);
+    }
+
+    private static final class Column {
+
+        private final String name;
+
+        private final boolean updatable;
+
+        private final String castType;
+
+        private Column(String name, boolean updatable, String castType) {
+            this.name = name;
+            this.updatable = updatable;
+            this.castType = castType;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.tistory.jaimemin.springdatajpa.repository.bulk;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * 청크 단위 bulk update 옵션
+ *
+ * chunkSize: 한 트랜잭션에서 수정할 최대 row 수 (row lock 유지 시간, undo/redo 크기 제한)
+ * pause: 청크 사이 대기 시간 (다른 트랜잭션, replication에 여유를 줌)
+ * listener: 청크가 커밋될 때마다 호출
+ */
+@Getter
+public class ChunkOptions {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    private final int chunkSize;
+
+    private final Duration pause;
+
+    private final ChunkProgressListener listener;
+
+    private ChunkOptions(int chunkSize, Duration pause, ChunkProgressListener listener) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be greater than 0");
+        }
+
+        if (pause.isNegative()) {
+            throw new IllegalArgumentException("pause must not be negative");
+        }
+
+        this.chunkSize = chunkSize;
+        this.pause = pause;
+        this.listener = listener;
+    }
+
+    public static ChunkOptions defaults() {
+        return of(DEFAULT_CHUNK_SIZE);
+    }
+
+    public static ChunkOptions of(int chunkSize) {
+        return new ChunkOptions(chunkSize, Duration.ZERO, ChunkProgressListener.NONE);
+    }
+
+    public ChunkOptions withPause(Duration pause) {
+        return new ChunkOptions(chunkSize, pause, listener);
+    }
+
+    public ChunkOptions withListener(ChunkProgressListener listener) {
+        return new ChunkOptions(chunkSize, pause, listener);
+    }
+}
@@ -0,0 +1,15 @@
+package com.tistory.jaimemin.springdatajpa.repository.bulk;
+
+@FunctionalInterface
+public interface ChunkProgressListener {
+
+    ChunkProgressListener NONE = (chunk, updated, totalUpdated, lastId) -> {};
+
+    /**
+     * @param chunk 1부터 시작하는 청크 번호
+     * @param updated 이번 청크에서 수정된 row 수
+     * @param totalUpdated 지금까지 수정된 row 수
+     * @param lastId 이번 청크의 마지막 id (다음 청크는 이 id 이후부터)
+     */
+    void onChunk(int chunk, int updated, long totalUpdated, long lastId);
+}
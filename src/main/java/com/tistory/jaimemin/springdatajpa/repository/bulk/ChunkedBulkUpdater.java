@@ -0,0 +1,206 @@
+package com.tistory.jaimemin.springdatajpa.repository.bulk;
+
+import org.hibernate.cache.spi.TimestampsCache;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 하나의 UPDATE ... WHERE 를 id 구간별 청크로 나눠서 실행
+ *
+ * 청크마다 별도 트랜잭션 (REQUIRES_NEW) -> row lock은 청크 크기만큼, 청크 시간 동안만 유지
+ * 진행 중 실패하면 이미 커밋된 청크는 되돌리지 않음 (lastId부터 다시 실행하면 됨)
+ *
+ * clearAutomatically 대신 호출한 트랜잭션의 영속성 컨텍스트에서 수정된 entity만 detach
+ * 호출한 트랜잭션이 같은 row를 이미 수정(lock)했다면 청크 트랜잭션이 대기하므로 트랜잭션 밖에서 호출 권장
+ *
+ * UPDATE는 JPQL이 아닌 native SQL을 JDBC로 직접 실행
+ * (Hibernate bulk update는 청크마다 entity의 2차 캐시 region 전체를 비움)
+ * -> 커밋 후 수정된 id만 2차 캐시에서 제거하고 query cache는 테이블 기준으로 무효화
+ */
+@Component
+public class ChunkedBulkUpdater {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate chunkTransaction;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ChunkedBulkUpdater(PlatformTransactionManager transactionManager, NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * @param entityType 수정 대상 entity (Long id)
+     * @param idQuery 대상 id 조회 JPQL, id > :lastId 조건과 id 오름차순 정렬 필수
+     * @param updateSql 수정 native SQL, id IN (:ids) 조건 필수
+     * @param parameters 두 query에 공통으로 바인딩할 parameter
+     * @param options
+     * @return 수정된 row 수
+     */
+    public long update(Class<?> entityType, String idQuery, String updateSql,
+                       Map<String, Object> parameters, ChunkOptions options) {
+        SessionImplementor callerSession = callerSession();
+        long lastId = 0L;
+        long totalUpdated = 0L;
+
+        for (int chunk = 1; ; chunk++) {
+            Long fromId = lastId;
+            Chunk result = chunkTransaction.execute(status -> updateChunk(entityType, idQuery, updateSql, parameters, fromId, options.getChunkSize()));
+
+            if (result.ids.isEmpty()) {
+                return totalUpdated;
+            }
+
+            lastId = result.ids.get(result.ids.size() - 1);
+            totalUpdated += result.updated;
+            detach(callerSession, entityType, result.ids);
+            options.getListener().onChunk(chunk, result.updated, totalUpdated, lastId);
+
+            if (result.ids.size() < options.getChunkSize()) {
+                return totalUpdated;
+            }
+
+            pause(options);
+        }
+    }
+
+    private Chunk updateChunk(Class<?> entityType, String idQuery, String updateSql, Map<String, Object> parameters,
+                              Long lastId, int chunkSize) {
+        List<Long> ids = bind(entityManager.createQuery(idQuery, Long.class), parameters)
+                .setParameter("lastId", lastId)
+                .setMaxResults(chunkSize)
+                .getResultList();
+
+        if (ids.isEmpty()) {
+            return new Chunk(ids, 0);
+        }
+
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        String[] querySpaces = querySpaces(session, entityType);
+        TimestampsCache timestampsCache = session.getFactory().getCache().getTimestampsCache();
+
+        // 커밋 전까지 이 테이블을 조회한 결과가 query cache에 저장되지 않도록
+        if (timestampsCache != null) {
+            timestampsCache.preInvalidate(querySpaces, session);
+        }
+
+        Map<String, Object> chunkParameters = new HashMap<>(parameters);
+        chunkParameters.put("ids", ids);
+        int updated = jdbcTemplate.update(updateSql, chunkParameters);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                evict(entityType, ids);
+
+                if (timestampsCache != null) {
+                    timestampsCache.invalidate(querySpaces, session);
+                }
+            }
+        });
+
+        return new Chunk(ids, updated);
+    }
+
+    /**
+     * 커밋 전에 제거하면 다른 트랜잭션이 이전 값을 다시 캐시에 넣을 수 있으므로 완료 후 제거
+     */
+    private void evict(Class<?> entityType, List<Long> ids) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+
+        for (Long id : ids) {
+            cache.evict(entityType, id);
+        }
+    }
+
+    private static String[] querySpaces(SessionImplementor session, Class<?> entityType) {
+        Serializable[] querySpaces = session.getFactory().getMetamodel().entityPersister(entityType).getQuerySpaces();
+
+        return Arrays.copyOf(querySpaces, querySpaces.length, String[].class);
+    }
+
+    /**
+     * 트랜잭션 밖이면 영속성 컨텍스트도 없으므로 detach 대상 없음
+     */
+    private SessionImplementor callerSession() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return null;
+        }
+
+        return entityManager.unwrap(SessionImplementor.class);
+    }
+
+    /**
+     * 이미 조회된 entity만 찾아서 detach (proxy 생성, DB 조회 X)
+     * 다시 조회하면 수정된 값을 읽음
+     */
+    private void detach(SessionImplementor session, Class<?> entityType, List<Long> ids) {
+        if (session == null || session.isClosed()) {
+            return;
+        }
+
+        EntityPersister persister = session.getFactory().getMetamodel().entityPersister(entityType);
+
+        for (Long id : ids) {
+            EntityKey key = session.generateEntityKey(id, persister);
+            Object entity = session.getPersistenceContextInternal().getEntity(key);
+
+            if (entity != null) {
+                session.evict(entity);
+            }
+        }
+    }
+
+    private static <Q extends Query> Q bind(Q query, Map<String, Object> parameters) {
+        parameters.forEach(query::setParameter);
+
+        return query;
+    }
+
+    private static void pause(ChunkOptions options) {
+        if (options.getPause().isZero()) {
+            return;
+        }
+
+        try {
+            Thread.sleep(options.getPause().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted between chunks", e);
+        }
+    }
+
+    private static final class Chunk {
+
+        private final List<Long> ids;
+
+        private final int updated;
+
+        private Chunk(List<Long> ids, int updated) {
+            this.ids = ids;
+            this.updated = updated;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.tistory.jaimemin.springdatajpa.repository.count;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 테이블 전체 count는 DB 통계(추정치)로 대체
+ * 조건이 있는 count는 delegate에게 위임
+ *
+ * H2: INFORMATION_SCHEMA.TABLES.ROW_COUNT_ESTIMATE
+ * 다른 DB는 estimateQuery만 바꾸면 됨 (ex. PostgreSQL pg_class.reltuples)
+ */
+public class ApproximateTotalCountStrategy implements TotalCountStrategy {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final String estimateQuery;
+
+    private final TotalCountStrategy delegate;
+
+    public ApproximateTotalCountStrategy(JdbcTemplate jdbcTemplate, String estimateQuery, TotalCountStrategy delegate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.estimateQuery = estimateQuery;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public long count(CountQueryKey key, LongSupplier countQuery) {
+        if (!key.isWholeTable()) {
+            return delegate.count(key, countQuery);
+        }
+
+        Long estimate = jdbcTemplate.query(estimateQuery,
+                rs -> rs.next() ? rs.getLong(1) : null,
+                key.getTableName());
+
+        return estimate != null ? estimate : delegate.count(key, countQuery);
+    }
+
+    @Override
+    public void invalidate(Class<?> entityType) {
+        delegate.invalidate(entityType);
+    }
+}
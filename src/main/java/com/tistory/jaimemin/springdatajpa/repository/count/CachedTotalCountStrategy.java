@@ -0,0 +1,65 @@
+package com.tistory.jaimemin.springdatajpa.repository.count;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * 짧은 TTL 동안 count 결과를 재사용
+ * 해당 entity에 쓰기가 발생하면 entity 단위로 무효화
+ *
+ * 트랜잭션 커밋 전에 무효화되므로 TTL 이내의 오차는 허용한다는 전제
+ */
+public class CachedTotalCountStrategy implements TotalCountStrategy {
+
+    private final Map<CountQueryKey, CachedCount> cache = new ConcurrentHashMap<>();
+
+    private final long ttlNanos;
+
+    private final int maxEntries;
+
+    public CachedTotalCountStrategy(Duration ttl, int maxEntries) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public long count(CountQueryKey key, LongSupplier countQuery) {
+        long now = System.nanoTime();
+        CachedCount cached = cache.get(key);
+
+        if (cached != null && cached.expiresAt - now > 0) {
+            return cached.value;
+        }
+
+        long value = countQuery.getAsLong();
+
+        if (ttlNanos > 0) {
+            if (cache.size() >= maxEntries) {
+                cache.clear();
+            }
+
+            cache.put(key, new CachedCount(value, now + ttlNanos));
+        }
+
+        return value;
+    }
+
+    @Override
+    public void invalidate(Class<?> entityType) {
+        cache.keySet().removeIf(key -> key.getEntityType().equals(entityType));
+    }
+
+    private static final class CachedCount {
+
+        private final long value;
+
+        private final long expiresAt;
+
+        private CachedCount(long value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.tistory.jaimemin.springdatajpa.repository.count;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * count query 캐시 key (query + parameter)
+ * entityType 단위로 무효화
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public final class CountQueryKey {
+
+    private final Class<?> entityType;
+
+    private final String tableName;
+
+    private final String query;
+
+    private final List<Object> parameters;
+
+    private CountQueryKey(Class<?> entityType, String tableName, String query, List<Object> parameters) {
+        this.entityType = entityType;
+        this.tableName = tableName;
+        this.query = query;
+        this.parameters = parameters;
+    }
+
+    public static CountQueryKey of(Class<?> entityType, String query, Object... parameters) {
+        return new CountQueryKey(entityType, null, query, Arrays.asList(parameters));
+    }
+
+    /**
+     * WHERE 조건 없는 테이블 전체 count
+     * DB 통계 기반 근사치로 대체 가능
+     */
+    public static CountQueryKey wholeTable(Class<?> entityType, String tableName) {
+        return new CountQueryKey(entityType, tableName, "*", Collections.emptyList());
+    }
+
+    public boolean isWholeTable() {
+        return tableName != null;
+    }
+}
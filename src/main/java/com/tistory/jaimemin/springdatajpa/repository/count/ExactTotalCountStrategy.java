@@ -0,0 +1,14 @@
+package com.tistory.jaimemin.springdatajpa.repository.count;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 기존 동작 그대로 매번 count query 실행
+ */
+public class ExactTotalCountStrategy implements TotalCountStrategy {
+
+    @Override
+    public long count(CountQueryKey key, LongSupplier countQuery) {
+        return countQuery.getAsLong();
+    }
+}
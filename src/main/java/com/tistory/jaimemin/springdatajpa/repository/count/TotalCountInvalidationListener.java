@@ -0,0 +1,27 @@
+package com.tistory.jaimemin.springdatajpa.repository.count;
+
+import org.hibernate.Hibernate;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * entity 단건 쓰기 시 count 캐시 무효화
+ * Hibernate가 SpringBeanContainer를 통해 생성하므로 생성자 주입 가능
+ */
+public class TotalCountInvalidationListener {
+
+    private final TotalCountStrategy totalCountStrategy;
+
+    public TotalCountInvalidationListener(TotalCountStrategy totalCountStrategy) {
+        this.totalCountStrategy = totalCountStrategy;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void invalidate(Object entity) {
+        totalCountStrategy.invalidate(Hibernate.getClass(entity));
+    }
+}
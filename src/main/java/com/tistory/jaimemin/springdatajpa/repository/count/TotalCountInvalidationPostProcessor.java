@@ -0,0 +1,50 @@
+package com.tistory.jaimemin.springdatajpa.repository.count;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.lang.reflect.Method;
+
+/**
+ * bulk 연산(@Modifying, deleteAllInBatch 등)은 entity listener를 거치지 않음
+ * Repository proxy에 interceptor를 붙여서 domain type 단위로 count 캐시 무효화
+ */
+public class TotalCountInvalidationPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<TotalCountStrategy> totalCountStrategy;
+
+    public TotalCountInvalidationPostProcessor(ObjectProvider<TotalCountStrategy> totalCountStrategy) {
+        this.totalCountStrategy = totalCountStrategy;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport) {
+            ((RepositoryFactoryBeanSupport<?, ?, ?>) bean).addRepositoryFactoryCustomizer(factory ->
+                    factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) ->
+                            proxyFactory.addAdvice(invalidationInterceptor(repositoryInformation.getDomainType()))));
+        }
+
+        return bean;
+    }
+
+    private MethodInterceptor invalidationInterceptor(Class<?> domainType) {
+        return invocation -> {
+            Object result = invocation.proceed();
+
+            if (isBulkOperation(invocation.getMethod())) {
+                totalCountStrategy.getObject().invalidate(domainType);
+            }
+
+            return result;
+        };
+    }
+
+    private static boolean isBulkOperation(Method method) {
+        return method.isAnnotationPresent(Modifying.class)
+                || (method.getName().startsWith("delete") && method.getName().endsWith("InBatch"));
+    }
+}
@@ -0,0 +1,25 @@
+package com.tistory.jaimemin.springdatajpa.repository.count;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Page의 totalElements를 구하는 방법
+ *
+ * 마지막 페이지에서 count query 생략은 PageableExecutionUtils가 이미 해줌
+ * 그 외의 경우 정확한 count / 캐시된 count / 통계 기반 근사치 중 선택
+ */
+public interface TotalCountStrategy {
+
+    /**
+     * @param key query + parameter
+     * @param countQuery 실제 count query
+     * @return
+     */
+    long count(CountQueryKey key, LongSupplier countQuery);
+
+    /**
+     * 해당 entity에 쓰기가 발생했을 때 호출
+     */
+    default void invalidate(Class<?> entityType) {
+    }
+}
@@ -0,0 +1,219 @@
+package com.tistory.jaimemin.springdatajpa.repository.inclause;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.data.repository.query.parser.PartTree;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Repository 메서드의 컬렉션 parameter가 chunkSize보다 크면 나눠서 여러 번 실행하고 결과를 합침
+ * 대상: query 메서드(@Query, named, derived), findAllById, deleteAllByIdInBatch, deleteAllInBatch
+ * (saveAll, saveAllBatched 등 IN 절이 아닌 메서드는 제외)
+ *
+ * DB parameter 개수 제한을 넘지 않고, hibernate.query.in_clause_parameter_padding과 함께
+ * IN 절 크기가 최대 chunkSize까지의 2의 거듭제곱으로 제한되어 query plan 수도 제한됨
+ *
+ * 컬렉션은 중복 제거 후 나눔 (같은 값이 다른 chunk에 들어가면 같은 row가 두 번 조회됨)
+ *
+ * - List/Collection/Iterable 반환: 결과 이어붙임 (ORDER BY는 chunk 안에서만 유지)
+ * - int/long 반환: @Modifying, derived count/delete만 합계
+ * - void: @Modifying, derived delete, deleteAllByIdInBatch/deleteAllInBatch만 chunk마다 실행
+ * - 나누지 않음: Pageable/Sort parameter, 결과 개수 제한(findFirst/findTop),
+ *   DISTINCT, 집계 함수(count/sum/avg/min/max)나 GROUP BY가 있는 @Query, 그 외 반환 타입
+ *   (named query는 본문을 확인하지 않으므로 집계/DISTINCT면 @Query로 선언)
+ * 모든 chunk는 호출한 (또는 repository의) 같은 트랜잭션에서 실행
+ */
+public class InClauseChunkingPostProcessor implements BeanPostProcessor {
+
+    private static final Set<String> CHUNKED_CRUD_METHODS = Set.of("findAllById", "deleteAllByIdInBatch", "deleteAllInBatch");
+
+    /**
+     * chunk별 결과를 이어붙이거나 더하면 틀리는 query
+     */
+    private static final Pattern NOT_MERGEABLE_QUERY = Pattern.compile(
+            "\\b(distinct|group\\s+by|count\\s*\\(|sum\\s*\\(|avg\\s*\\(|min\\s*\\(|max\\s*\\()", Pattern.CASE_INSENSITIVE);
+
+    private final int chunkSize;
+
+    public InClauseChunkingPostProcessor(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be greater than 0");
+        }
+
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport) {
+            ((RepositoryFactoryBeanSupport<?, ?, ?>) bean).addRepositoryFactoryCustomizer(factory ->
+                    factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) ->
+                            proxyFactory.addAdvice(chunkingInterceptor(repositoryInformation))));
+        }
+
+        return bean;
+    }
+
+    private MethodInterceptor chunkingInterceptor(RepositoryInformation repositoryInformation) {
+        Map<Method, Boolean> chunkable = new ConcurrentHashMap<>();
+
+        return invocation -> {
+            Method method = invocation.getMethod();
+
+            if (!chunkable.computeIfAbsent(method, key -> isChunkable(key, repositoryInformation))) {
+                return invocation.proceed();
+            }
+
+            int index = chunkedArgumentIndex(invocation);
+
+            if (index < 0 || !(invocation instanceof ProxyMethodInvocation)) {
+                return invocation.proceed();
+            }
+
+            return proceedInChunks((ProxyMethodInvocation) invocation, index);
+        };
+    }
+
+    private static boolean isChunkable(Method method, RepositoryInformation repositoryInformation) {
+        Class<?> returnType = method.getReturnType();
+
+        if (!repositoryInformation.isQueryMethod(method)) {
+            return CHUNKED_CRUD_METHODS.contains(method.getName()) && (isCollection(returnType) || returnType == void.class);
+        }
+
+        if (AnnotatedElementUtils.hasAnnotation(method, Modifying.class)) {
+            return isNumber(returnType) || returnType == void.class;
+        }
+
+        Query query = AnnotatedElementUtils.findMergedAnnotation(method, Query.class);
+
+        if (query != null) {
+            return isCollection(returnType) && !NOT_MERGEABLE_QUERY.matcher(query.value()).find();
+        }
+
+        PartTree tree;
+
+        try {
+            tree = new PartTree(method.getName(), repositoryInformation.getDomainType());
+        } catch (RuntimeException e) {
+            return false;
+        }
+
+        if (tree.isDelete()) {
+            return isCollection(returnType) || isNumber(returnType) || returnType == void.class;
+        }
+
+        if (tree.isCountProjection()) {
+            return !tree.isDistinct() && isNumber(returnType);
+        }
+
+        return isCollection(returnType) && !tree.isLimiting() && !tree.isDistinct();
+    }
+
+    private int chunkedArgumentIndex(MethodInvocation invocation) {
+        Object[] arguments = invocation.getArguments();
+        int index = -1;
+
+        for (int i = 0; i < arguments.length; i++) {
+            Object argument = arguments[i];
+
+            if (argument instanceof Pageable || argument instanceof Sort) {
+                return -1;
+            }
+
+            if (argument instanceof Iterable && size((Iterable<?>) argument) > chunkSize) {
+                // 큰 컬렉션이 둘 이상이면 조합이 필요하므로 나누지 않음
+                if (index >= 0) {
+                    return -1;
+                }
+
+                index = i;
+            }
+        }
+
+        return index;
+    }
+
+    private Object proceedInChunks(ProxyMethodInvocation invocation, int index) throws Throwable {
+        Object[] arguments = invocation.getArguments();
+        Iterable<?> original = (Iterable<?>) arguments[index];
+        Set<Object> distinct = new LinkedHashSet<>();
+        original.forEach(distinct::add);
+        List<Object> values = new ArrayList<>(distinct);
+
+        Class<?> returnType = invocation.getMethod().getReturnType();
+        List<Object> merged = new ArrayList<>();
+        long sum = 0;
+
+        for (int from = 0; from < values.size(); from += chunkSize) {
+            List<Object> chunk = values.subList(from, Math.min(from + chunkSize, values.size()));
+            Object[] chunkArguments = arguments.clone();
+            chunkArguments[index] = original instanceof Set ? new LinkedHashSet<>(chunk) : new ArrayList<>(chunk);
+            Object result = invocation.invocableClone(chunkArguments).proceed();
+
+            if (result instanceof Iterable) {
+                ((Iterable<?>) result).forEach(merged::add);
+            } else if (result instanceof Number) {
+                sum += ((Number) result).longValue();
+            }
+        }
+
+        if (returnType == void.class) {
+            return null;
+        }
+
+        if (returnType == int.class || returnType == Integer.class) {
+            return (int) sum;
+        }
+
+        if (returnType == long.class || returnType == Long.class) {
+            return sum;
+        }
+
+        return Set.class.isAssignableFrom(returnType) ? new LinkedHashSet<>(merged) : merged;
+    }
+
+    private static boolean isCollection(Class<?> returnType) {
+        return returnType == List.class
+                || returnType == Collection.class
+                || returnType == Iterable.class
+                || returnType == Set.class;
+    }
+
+    private static boolean isNumber(Class<?> returnType) {
+        return returnType == int.class || returnType == Integer.class
+                || returnType == long.class || returnType == Long.class;
+    }
+
+    private static int size(Iterable<?> iterable) {
+        if (iterable instanceof Collection) {
+            return ((Collection<?>) iterable).size();
+        }
+
+        int size = 0;
+
+        for (Object ignored : iterable) {
+            size++;
+        }
+
+        return size;
+    }
+}
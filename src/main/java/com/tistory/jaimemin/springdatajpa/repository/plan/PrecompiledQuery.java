@@ -0,0 +1,25 @@
+package com.tistory.jaimemin.springdatajpa.repository.plan;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * EntityManager로 직접 만드는 JPQL 상수 (static final String)에 붙이면
+ * QueryPlanWarmer가 기동 시 @Query와 같이 파싱/검증
+ *
+ * @Repository 빈, repository fragment 구현(CustomMemberRepositoryImpl 등)의 필드만 대상
+ * 실행 시점에 조합되는 쿼리 (정렬 추가, projection별 SELECT 절)는 대상 X
+ */
+@Documented
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PrecompiledQuery {
+
+    /**
+     * native SQL 여부
+     */
+    boolean nativeQuery() default false;
+}
@@ -0,0 +1,116 @@
+package com.tistory.jaimemin.springdatajpa.repository.plan;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.query.spi.QueryPlanCache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+import javax.persistence.EntityManagerFactory;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * Hibernate query plan cache (HQL/JPQL, native SQL -> 파싱된 plan) 지표
+ *
+ * hit/miss 횟수는 hibernate-micrometer의 hibernate.cache.query.plan에 이미 있음
+ * - datajpa.query.plan.cache.hit.ratio
+ * - datajpa.query.plan.cache.size: 현재 plan 수 (Hibernate 내부 필드 조회, 실패 시 NaN)
+ * - datajpa.query.plan.cache.max.size: hibernate.query.plan_cache_max_size
+ * - datajpa.query.plan.cache.evictions: miss - size (miss마다 plan이 하나씩 추가되므로 나머지는 밀려난 plan)
+ *
+ * hibernate.generate_statistics가 false면 hit/miss가 0으로 집계됨
+ */
+@Component
+public class QueryPlanCacheMetrics implements MeterBinder {
+
+    private final Statistics statistics;
+
+    private final Object planCache;
+
+    private final Method sizeMethod;
+
+    private final int maxSize;
+
+    public QueryPlanCacheMetrics(EntityManagerFactory entityManagerFactory,
+                                 @Value("${spring.jpa.properties.hibernate.query.plan_cache_max_size:"
+                                         + QueryPlanCache.DEFAULT_QUERY_PLAN_MAX_COUNT + "}") int maxSize) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.statistics = sessionFactory.unwrap(SessionFactory.class).getStatistics();
+        this.planCache = internalCache(sessionFactory.getQueryPlanCache());
+        this.sizeMethod = planCache == null ? null : sizeMethod(planCache.getClass());
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("datajpa.query.plan.cache.hit.ratio", this, QueryPlanCacheMetrics::hitRatio)
+                .description("Query plan cache hit ratio")
+                .register(registry);
+        Gauge.builder("datajpa.query.plan.cache.size", this, QueryPlanCacheMetrics::size)
+                .description("Query plans currently cached")
+                .register(registry);
+        Gauge.builder("datajpa.query.plan.cache.max.size", this, metrics -> metrics.maxSize)
+                .description("Configured hibernate.query.plan_cache_max_size")
+                .register(registry);
+        FunctionCounter.builder("datajpa.query.plan.cache.evictions", this, QueryPlanCacheMetrics::evictions)
+                .description("Query plans evicted (misses minus cached plans, estimate)")
+                .register(registry);
+    }
+
+    public double hitRatio() {
+        long hits = statistics.getQueryPlanCacheHitCount();
+        long total = hits + statistics.getQueryPlanCacheMissCount();
+
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    public double size() {
+        if (sizeMethod == null) {
+            return Double.NaN;
+        }
+
+        return ((Number) ReflectionUtils.invokeMethod(sizeMethod, planCache)).doubleValue();
+    }
+
+    public double evictions() {
+        double size = size();
+
+        return Double.isNaN(size) ? Double.NaN : Math.max(0, statistics.getQueryPlanCacheMissCount() - size);
+    }
+
+    /**
+     * QueryPlanCache는 크기를 공개하지 않으므로 내부 cache 필드 사용
+     */
+    private static Object internalCache(QueryPlanCache queryPlanCache) {
+        Field field = ReflectionUtils.findField(QueryPlanCache.class, "queryPlanCache");
+
+        if (field == null) {
+            return null;
+        }
+
+        ReflectionUtils.makeAccessible(field);
+
+        return ReflectionUtils.getField(field, queryPlanCache);
+    }
+
+    private static Method sizeMethod(Class<?> cacheType) {
+        Method method = ReflectionUtils.findMethod(cacheType, "heldElementsEstimate");
+
+        if (method == null) {
+            method = ReflectionUtils.findMethod(cacheType, "size");
+        }
+
+        if (method != null) {
+            ReflectionUtils.makeAccessible(method);
+        }
+
+        return method;
+    }
+}
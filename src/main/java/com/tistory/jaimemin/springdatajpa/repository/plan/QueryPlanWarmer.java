@@ -0,0 +1,391 @@
+package com.tistory.jaimemin.springdatajpa.repository.plan;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.query.spi.HQLQueryPlan;
+import org.hibernate.engine.spi.NamedQueryDefinition;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.BeanFactoryUtils;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.domain.Page;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.core.support.RepositoryFactoryInformation;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.NamedQueries;
+import javax.persistence.NamedQuery;
+import javax.persistence.metamodel.EntityType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 기동 시 Repository 쿼리를 전부 파싱/검증해서 query plan cache에 올림 (SQL 변환까지 끝난 상태)
+ * 배포 직후 첫 요청이 파싱 비용을 내지 않고, 깨진 JPQL은 트래픽 전에 발견
+ *
+ * @Query와 count query는 Spring Data가 repository 생성 시, @NamedQuery는 Hibernate가 SessionFactory 생성 시
+ * 이미 컴파일하므로 실제로 plan이 추가되는 건 그 외의 쿼리 (@PrecompiledQuery 등)
+ * -> Report에 새로 올린 plan(warmedUp)과 이미 있던 plan(alreadyCached)을 나눠서 집계
+ *    (hibernate.generate_statistics의 plan cache miss로 판단, 꺼져 있으면 전부 warmedUp)
+ *
+ * - @Query (+ countQuery, 없으면 Spring Data가 만드는 count query)
+ * - entity의 @NamedQuery
+ * - @Repository 빈과 repository fragment 구현(CustomMemberRepositoryImpl 등)의 @PrecompiledQuery 상수
+ *
+ * 메서드 이름 기반 쿼리는 Spring Data가 기동 시 PartTree로 검증하고,
+ * SQL은 인자(null, 컬렉션 크기)에 따라 달라지므로 개수만 보고
+ * SpEL(#{...})이 들어간 query는 실행 시점에 바뀌므로 제외
+ *
+ * datajpa.query-plan.mode: warn(기본) | fail | off
+ * datajpa.query-plan.slow-threshold: 설정하면 파싱 시간을 재서 이보다 오래 걸린 쿼리는 로그 (기본 X)
+ *
+ * 파싱 시간은 plan cache를 거치지 않고 JPQL -> SQL 변환을 한 번 더 해서 측정 (cache hit 시간이 아닌 실제 비용)
+ * 그만큼 기동이 느려지므로 slow-threshold를 설정했을 때만, native SQL은 DB가 파싱하므로 측정 X
+ */
+@Slf4j
+@Component
+public class QueryPlanWarmer implements SmartInitializingSingleton {
+
+    private final ListableBeanFactory beanFactory;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final SessionFactoryImplementor sessionFactory;
+
+    private final Statistics statistics;
+
+    private final String mode;
+
+    /**
+     * null이면 파싱 시간 측정 X
+     */
+    private final Duration slowThreshold;
+
+    private Report report = new Report(0);
+
+    public QueryPlanWarmer(ListableBeanFactory beanFactory, EntityManagerFactory entityManagerFactory,
+                           @Value("${datajpa.query-plan.mode:warn}") String mode,
+                           @Value("${datajpa.query-plan.slow-threshold:}") Duration slowThreshold) {
+        this.beanFactory = beanFactory;
+        this.entityManagerFactory = entityManagerFactory;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.statistics = sessionFactory.getStatistics();
+        this.mode = mode;
+        this.slowThreshold = slowThreshold;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if ("off".equals(mode)) {
+            return;
+        }
+
+        List<WarmUpQuery> queries = new ArrayList<>();
+        int derived = collectRepositoryQueries(queries);
+        collectNamedQueries(queries);
+        collectPrecompiledQueries(queries);
+
+        report = warmUp(queries);
+        report.getSlowQueries().forEach(slow -> log.warn("slow to parse: {}", slow));
+
+        if (!report.getFailures().isEmpty()) {
+            if ("fail".equals(mode)) {
+                throw new IllegalStateException("invalid queries\n" + String.join("\n", report.getFailures()));
+            }
+
+            report.getFailures().forEach(failure -> log.warn("invalid query: {}", failure));
+        }
+
+        log.info("query plan warm-up: {} queries in {} ms (parse {} ms), {} plans added, {} already cached "
+                        + "({} derived queries validated by Spring Data, {} failed)",
+                report.getValidated(), report.getElapsed().toMillis(), report.getParseTime().toMillis(),
+                report.getWarmedUp(), report.getAlreadyCached(), derived, report.getFailures().size());
+    }
+
+    public Report getReport() {
+        return report;
+    }
+
+    /**
+     * 자체 EntityManager로 파싱만 하고 실행은 하지 않음
+     */
+    Report warmUp(List<WarmUpQuery> queries) {
+        long start = System.nanoTime();
+        Report result = new Report(queries.size());
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+
+        try {
+            for (WarmUpQuery query : queries) {
+                long misses = statistics.getQueryPlanCacheMissCount();
+
+                try {
+                    query.create(entityManager);
+                    result.validated++;
+                } catch (RuntimeException e) {
+                    result.failures.add(query.source + ": " + rootMessage(e));
+                    continue;
+                }
+
+                if (!statistics.isStatisticsEnabled() || statistics.getQueryPlanCacheMissCount() > misses) {
+                    result.warmedUp++;
+                } else {
+                    result.alreadyCached++;
+                }
+
+                if (slowThreshold == null) {
+                    continue;
+                }
+
+                Duration parseTime = query.parse(sessionFactory);
+
+                if (parseTime == null) {
+                    continue;
+                }
+
+                result.parseTime = result.parseTime.plus(parseTime);
+
+                if (parseTime.compareTo(slowThreshold) > 0) {
+                    result.slowQueries.add(query.source + " (" + parseTime.toMillis() + " ms)");
+                }
+            }
+        } finally {
+            entityManager.close();
+        }
+
+        result.elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        return result;
+    }
+
+    /**
+     * @return 메서드 이름 기반 쿼리 수
+     */
+    private int collectRepositoryQueries(List<WarmUpQuery> queries) {
+        int derived = 0;
+
+        // Repositories는 domain 타입당 repository 하나만 보관하므로 factory bean 전체를 순회
+        for (RepositoryFactoryInformation<?, ?> factory : beanFactory.getBeansOfType(RepositoryFactoryInformation.class).values()) {
+            RepositoryInformation information = factory.getRepositoryInformation();
+
+            for (Method method : information.getQueryMethods()) {
+                String source = information.getRepositoryInterface().getSimpleName() + "." + method.getName();
+                Query query = AnnotatedElementUtils.findMergedAnnotation(method, Query.class);
+
+                if (query == null) {
+                    derived++;
+                } else if (StringUtils.hasText(query.value()) && !query.value().contains("#{")) {
+                    addDeclaredQueries(source, query, Page.class.isAssignableFrom(method.getReturnType()), queries);
+                }
+            }
+        }
+
+        return derived;
+    }
+
+    private static void addDeclaredQueries(String source, Query query, boolean paged, List<WarmUpQuery> queries) {
+        queries.add(WarmUpQuery.of(source, query.value(), query.nativeQuery()));
+
+        if (StringUtils.hasText(query.countQuery())) {
+            queries.add(WarmUpQuery.of(source + " (count)", query.countQuery(), query.nativeQuery()));
+        } else if (paged && !query.nativeQuery()) {
+            queries.add(WarmUpQuery.of(source + " (count)", QueryUtils.createCountQueryFor(query.value()), false));
+        }
+    }
+
+    private void collectNamedQueries(List<WarmUpQuery> queries) {
+        for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+            Class<?> javaType = entity.getJavaType();
+            NamedQuery namedQuery = javaType.getAnnotation(NamedQuery.class);
+            NamedQueries container = javaType.getAnnotation(NamedQueries.class);
+
+            if (namedQuery != null) {
+                queries.add(WarmUpQuery.named(namedQuery.name()));
+            }
+
+            if (container != null) {
+                for (NamedQuery each : container.value()) {
+                    queries.add(WarmUpQuery.named(each.name()));
+                }
+            }
+        }
+    }
+
+    /**
+     * 모든 빈을 뒤지지 않고 @Repository 빈과 repository의 custom 메서드를 구현한 fragment 빈만 대상
+     */
+    private void collectPrecompiledQueries(List<WarmUpQuery> queries) {
+        Map<String, RepositoryFactoryInformation> factories = beanFactory.getBeansOfType(RepositoryFactoryInformation.class);
+        Set<String> candidates = new LinkedHashSet<>(Arrays.asList(beanFactory.getBeanNamesForAnnotation(Repository.class)));
+
+        for (RepositoryFactoryInformation<?, ?> factory : factories.values()) {
+            for (Class<?> fragment : fragmentInterfaces(factory.getRepositoryInformation())) {
+                candidates.addAll(Arrays.asList(beanFactory.getBeanNamesForType(fragment, false, false)));
+            }
+        }
+
+        // Spring Data repository proxy는 제외
+        factories.keySet().forEach(name -> candidates.remove(BeanFactoryUtils.transformedBeanName(name)));
+        Set<Class<?>> scanned = new HashSet<>();
+
+        for (String beanName : candidates) {
+            Class<?> beanType = beanFactory.getType(beanName, false);
+
+            if (beanType != null && scanned.add(ClassUtils.getUserClass(beanType))) {
+                addPrecompiledQueries(ClassUtils.getUserClass(beanType), queries);
+            }
+        }
+    }
+
+    /**
+     * custom 메서드를 선언한 interface (ex. CustomMemberRepository)
+     */
+    private static Set<Class<?>> fragmentInterfaces(RepositoryInformation information) {
+        Set<Class<?>> fragments = new HashSet<>();
+
+        for (Method method : information.getRepositoryInterface().getMethods()) {
+            if (information.isCustomMethod(method)) {
+                fragments.add(method.getDeclaringClass());
+            }
+        }
+
+        return fragments;
+    }
+
+    private static void addPrecompiledQueries(Class<?> type, List<WarmUpQuery> queries) {
+        ReflectionUtils.doWithLocalFields(type, field -> {
+            PrecompiledQuery precompiled = field.getAnnotation(PrecompiledQuery.class);
+
+            if (precompiled == null || !Modifier.isStatic(field.getModifiers()) || field.getType() != String.class) {
+                return;
+            }
+
+            ReflectionUtils.makeAccessible(field);
+            queries.add(WarmUpQuery.of(type.getSimpleName() + "." + field.getName(),
+                    (String) field.get(null), precompiled.nativeQuery()));
+        });
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable cause = e;
+
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+
+        return cause.getMessage();
+    }
+
+    @Getter
+    public static class Report {
+
+        private final int total;
+
+        /**
+         * 파싱/검증에 성공한 쿼리
+         */
+        private int validated;
+
+        /**
+         * warm-up이 plan cache에 새로 올린 쿼리
+         */
+        private int warmedUp;
+
+        /**
+         * 이미 plan cache에 있던 쿼리 (Spring Data, Hibernate가 기동 중 컴파일)
+         */
+        private int alreadyCached;
+
+        private Duration elapsed = Duration.ZERO;
+
+        /**
+         * plan cache를 거치지 않은 JPQL 파싱 시간 합계
+         */
+        private Duration parseTime = Duration.ZERO;
+
+        private final List<String> failures = new ArrayList<>();
+
+        private final List<String> slowQueries = new ArrayList<>();
+
+        private Report(int total) {
+            this.total = total;
+        }
+    }
+
+    static final class WarmUpQuery {
+
+        private final String source;
+
+        private final String query;
+
+        private final boolean nativeQuery;
+
+        private final boolean named;
+
+        private WarmUpQuery(String source, String query, boolean nativeQuery, boolean named) {
+            this.source = source;
+            this.query = query;
+            this.nativeQuery = nativeQuery;
+            this.named = named;
+        }
+
+        static WarmUpQuery of(String source, String query, boolean nativeQuery) {
+            return new WarmUpQuery(source, query, nativeQuery, false);
+        }
+
+        static WarmUpQuery named(String name) {
+            return new WarmUpQuery(name, name, false, true);
+        }
+
+        /**
+         * @return 측정 대상이 아니면 (native SQL) null
+         */
+        private Duration parse(SessionFactoryImplementor sessionFactory) {
+            String jpql = nativeQuery ? null : named ? namedJpql(sessionFactory) : query;
+
+            if (jpql == null) {
+                return null;
+            }
+
+            long start = System.nanoTime();
+            new HQLQueryPlan(jpql, false, Collections.emptyMap(), sessionFactory);
+
+            return Duration.ofNanos(System.nanoTime() - start);
+        }
+
+        private String namedJpql(SessionFactoryImplementor sessionFactory) {
+            NamedQueryDefinition definition = sessionFactory.getNamedQueryRepository().getNamedQueryDefinition(query);
+
+            return definition == null ? null : definition.getQueryString();
+        }
+
+        private void create(EntityManager entityManager) {
+            if (named) {
+                entityManager.createNamedQuery(query);
+            } else if (nativeQuery) {
+                entityManager.createNativeQuery(query);
+            } else {
+                entityManager.createQuery(query);
+            }
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.tistory.jaimemin.springdatajpa.repository.projection;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import javax.persistence.Tuple;
+import java.beans.Introspector;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 중첩 closed interface projection -> 필요한 컬럼만 고른 flat tuple select
+ *
+ * Spring Data는 중첩 projection(TeamInfo getTeam())이 있으면 Team entity 전체를 LEFT JOIN으로 가져옴
+ * 여기서는 getter를 따라가며 "username", "team.name" 처럼 실제로 쓰는 경로만 select 하고
+ * association마다 id를 숨은 컬럼("team")으로 같이 select 해서 LEFT JOIN 대상이 없을 때만 중첩 projection을 null로 반환
+ * 결과는 @GeneratedProjection으로 생성된 ProjectionMapper가 있으면 생성된 구현체로 바로 변환하고
+ * 없으면 Map 기반 projection proxy로 감싸서 반환
+ *
+ * open projection(@Value), 컬렉션 association은 지원 X
+ */
+public final class ClosedProjectionQuery<T> {
+
+    private static final ProjectionFactory PROJECTION_FACTORY = new SpelAwareProxyProjectionFactory();
+
+    private static final Map<Class<?>, ClosedProjectionQuery<?>> CACHE = new ConcurrentHashMap<>();
+
+    private final Class<T> type;
+
+    private final List<String> paths = new ArrayList<>();
+
+    /**
+     * association 경로 -> join alias (선언 순서 유지, 부모가 항상 먼저)
+     */
+    private final Map<String, String> associations = new LinkedHashMap<>();
+
+    private final ProjectionMapper<T> mapper;
+
+    private ClosedProjectionQuery(Class<T> type) {
+        if (!type.isInterface()) {
+            throw new IllegalArgumentException("not an interface projection: " + type.getName());
+        }
+
+        this.type = type;
+        collect(type, "");
+        this.mapper = generatedMapper();
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> ClosedProjectionQuery<T> of(Class<T> type) {
+        return (ClosedProjectionQuery<T>) CACHE.computeIfAbsent(type, key -> new ClosedProjectionQuery<>(key));
+    }
+
+    public List<String> getPaths() {
+        return paths;
+    }
+
+    /**
+     * ex) j0.id, j0.name, m.username (association 경로는 join 대상의 id)
+     */
+    public String selectClause(String rootAlias) {
+        List<String> selections = new ArrayList<>();
+
+        for (String path : paths) {
+            if (associations.containsKey(path)) {
+                selections.add(associations.get(path) + ".id");
+            } else {
+                selections.add(aliasOf(parentOf(path), rootAlias) + "." + lastSegmentOf(path));
+            }
+        }
+
+        return String.join(", ", selections);
+    }
+
+    /**
+     * ex) LEFT JOIN m.team j0
+     */
+    public String joinClause(String rootAlias) {
+        StringBuilder joins = new StringBuilder();
+
+        associations.forEach((path, alias) -> joins.append(" LEFT JOIN ")
+                .append(aliasOf(parentOf(path), rootAlias))
+                .append('.')
+                .append(lastSegmentOf(path))
+                .append(' ')
+                .append(alias));
+
+        return joins.toString();
+    }
+
+    public boolean isGenerated() {
+        return mapper != null;
+    }
+
+    public T map(Tuple tuple) {
+        if (mapper != null) {
+            return mapper.map(tuple.toArray());
+        }
+
+        Map<String, Object> root = new HashMap<>();
+        Set<String> missing = new HashSet<>();
+
+        for (int i = 0; i < paths.size(); i++) {
+            String path = paths.get(i);
+
+            if (associations.containsKey(path)) {
+                if (tuple.get(i) == null) {
+                    missing.add(path);
+                }
+            } else {
+                nestedMapOf(root, parentOf(path)).put(lastSegmentOf(path), tuple.get(i));
+            }
+        }
+
+        nullifyMissingAssociations(root, missing);
+
+        return PROJECTION_FACTORY.createProjection(type, root);
+    }
+
+    /**
+     * 컬럼 순서가 어긋나면 (ex. 이전에 생성된 클래스) 사용하지 않고 proxy로 대체
+     */
+    @SuppressWarnings("unchecked")
+    private ProjectionMapper<T> generatedMapper() {
+        try {
+            Class<?> mapperClass = Class.forName(ProjectionMapper.mapperClassName(type), true, type.getClassLoader());
+            ProjectionMapper<T> generated = (ProjectionMapper<T>) mapperClass.getDeclaredConstructor().newInstance();
+
+            return generated.paths().equals(paths) ? generated : null;
+        } catch (ReflectiveOperationException | LinkageError | ClassCastException e) {
+            return null;
+        }
+    }
+
+    private void collect(Class<?> projectionType, String prefix) {
+        Method[] methods = projectionType.getMethods();
+        Arrays.sort(methods, Comparator.comparing(Method::getName));
+
+        for (Method method : methods) {
+            String property = propertyOf(method);
+
+            if (property == null) {
+                continue;
+            }
+
+            if (method.isAnnotationPresent(Value.class)) {
+                throw new IllegalArgumentException("open projection is not supported: " + method);
+            }
+
+            Class<?> returnType = method.getReturnType();
+            String path = prefix + property;
+
+            if (Collection.class.isAssignableFrom(returnType) || Map.class.isAssignableFrom(returnType)) {
+                throw new IllegalArgumentException("collection association is not supported: " + method);
+            }
+
+            if (returnType.isInterface() && !returnType.getName().startsWith("java.")) {
+                associations.put(path, "j" + associations.size());
+                paths.add(path);
+                collect(returnType, path + ".");
+            } else {
+                paths.add(path);
+            }
+        }
+    }
+
+    private String aliasOf(String associationPath, String rootAlias) {
+        return associationPath.isEmpty() ? rootAlias : associations.get(associationPath);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> nestedMapOf(Map<String, Object> root, String associationPath) {
+        Map<String, Object> current = root;
+
+        if (associationPath.isEmpty()) {
+            return current;
+        }
+
+        for (String segment : associationPath.split("\\.")) {
+            current = (Map<String, Object>) current.computeIfAbsent(segment, key -> new HashMap<String, Object>());
+        }
+
+        return current;
+    }
+
+    /**
+     * join 대상의 id가 null인 association만 null로 (컬럼 값이 전부 null이어도 대상이 있으면 유지)
+     * associations는 부모가 먼저이므로 부모가 이미 null이면 건너뜀
+     */
+    private void nullifyMissingAssociations(Map<String, Object> root, Set<String> missing) {
+        for (String path : associations.keySet()) {
+            if (missing.contains(path) && !hasMissingParent(path, missing)) {
+                nestedMapOf(root, parentOf(path)).put(lastSegmentOf(path), null);
+            }
+        }
+    }
+
+    private static boolean hasMissingParent(String path, Set<String> missing) {
+        for (String parent = parentOf(path); !parent.isEmpty(); parent = parentOf(parent)) {
+            if (missing.contains(parent)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static String propertyOf(Method method) {
+        if (method.isDefault() || Modifier.isStatic(method.getModifiers()) || method.getParameterCount() != 0) {
+            return null;
+        }
+
+        String name = method.getName();
+
+        if (name.startsWith("get") && name.length() > 3) {
+            return Introspector.decapitalize(name.substring(3));
+        }
+
+        if (name.startsWith("is") && name.length() > 2 && method.getReturnType() == boolean.class) {
+            return Introspector.decapitalize(name.substring(2));
+        }
+
+        return null;
+    }
+
+    private static String parentOf(String path) {
+        int index = path.lastIndexOf('.');
+
+        return index < 0 ? "" : path.substring(0, index);
+    }
+
+    private static String lastSegmentOf(String path) {
+        return path.substring(path.lastIndexOf('.') + 1);
+    }
+}
@@ -0,0 +1,20 @@
+package com.tistory.jaimemin.springdatajpa.repository.projection;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * closed interface projection에 붙이면 컴파일 시점에 구현 클래스를 생성 (projection-processor)
+ * - {Projection}_Impl: getter가 필드를 바로 반환하는 구현체 (JDK proxy + Map 조회 대신)
+ * - {Projection}_Mapper: 조회 row(Object[])를 _Impl로 바로 변환하는 ProjectionMapper
+ *
+ * 중첩 클래스는 $ 대신 _ (ex. NestedClosedProjections_TeamInfo_Impl)
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.CLASS)
+public @interface GeneratedProjection {
+}
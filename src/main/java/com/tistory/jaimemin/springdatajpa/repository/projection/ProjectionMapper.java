@@ -0,0 +1,22 @@
+package com.tistory.jaimemin.springdatajpa.repository.projection;
+
+import java.util.List;
+
+/**
+ * @GeneratedProjection으로 생성되는 row -> projection 변환기
+ */
+public interface ProjectionMapper<T> {
+
+    /**
+     * row의 각 컬럼에 해당하는 property 경로 (ex. "team", "team.name", "username")
+     * ClosedProjectionQuery와 같은 순서 (getter 이름순, 중첩은 깊이 우선)
+     * 중첩 projection 경로("team")는 join 대상의 id 컬럼
+     */
+    List<String> paths();
+
+    T map(Object[] row);
+
+    static String mapperClassName(Class<?> projectionType) {
+        return projectionType.getName().replace('$', '_') + "_Mapper";
+    }
+}
@@ -0,0 +1,40 @@
+package com.tistory.jaimemin.springdatajpa.repository.specification;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Specification shape -> 렌더링된 JPQL
+ *
+ * Criteria 트리 생성과 JPQL 렌더링을 shape당 한 번만 수행
+ * 이후에는 JPQL 문자열로 createQuery 하므로 Hibernate query plan cache도 그대로 적중
+ * metrics: cache.gets/puts/evictions (tag cache=specification.jpql)
+ */
+@Component
+public class CompiledQueryCache {
+
+    private final Cache<String, String> cache;
+
+    public CompiledQueryCache(MeterRegistry meterRegistry,
+                              @Value("${datajpa.specification-cache.max-size:500}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "specification.jpql");
+    }
+
+    public String get(Class<?> domainType, String shapeKey, Supplier<String> renderer) {
+        return cache.get(domainType.getName() + "|" + shapeKey, key -> renderer.get());
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
@@ -0,0 +1,40 @@
+package com.tistory.jaimemin.springdatajpa.repository.specification;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+class DefaultShapedSpecification<T> implements ShapedSpecification<T> {
+
+    private final String shapeKey;
+
+    private final Map<String, Object> parameters;
+
+    private final ShapedPredicate<T> predicate;
+
+    DefaultShapedSpecification(String shapeKey, Map<String, Object> parameters, ShapedPredicate<T> predicate) {
+        this.shapeKey = shapeKey;
+        // null 값 허용 (Map.copyOf X)
+        this.parameters = Collections.unmodifiableMap(new HashMap<>(parameters));
+        this.predicate = predicate;
+    }
+
+    @Override
+    public String shapeKey() {
+        return shapeKey;
+    }
+
+    @Override
+    public Map<String, Object> parameters() {
+        return parameters;
+    }
+
+    @Override
+    public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder builder, Values values) {
+        return predicate.toPredicate(root, query, builder, values);
+    }
+}
@@ -0,0 +1,108 @@
+package com.tistory.jaimemin.springdatajpa.repository.specification;
+
+import java.util.Set;
+
+/**
+ * Criteria에서 렌더링된 JPQL이 shape 캐시에 넣어도 되는지 검사
+ *
+ * Values가 아닌 값을 직접 넣으면 Hibernate가 렌더링할 때
+ * - 숫자: JPQL에 그대로 inline (캐시되면 다음 호출도 같은 값으로 조회)
+ * - 그 외: 내부 parameter(:param0 등)로 바뀜 (캐시된 JPQL로는 바인딩 불가)
+ * -> 선언된 :name 외의 parameter, 문자열/숫자 literal이 있으면 거부
+ */
+public final class RenderedJpql {
+
+    private RenderedJpql() {
+    }
+
+    /**
+     * @return 검사를 통과한 jpql
+     * @throws IllegalArgumentException 선언되지 않은 parameter 혹은 literal이 있는 경우
+     */
+    public static String verify(String jpql, ShapedSpecification<?> specification) {
+        Set<String> declared = specification.parameters().keySet();
+        int length = jpql.length();
+        int i = 0;
+
+        while (i < length) {
+            char c = jpql.charAt(i);
+
+            if (Character.isJavaIdentifierStart(c)) {
+                i = skipIdentifier(jpql, i);
+            } else if (c == '\'') {
+                throw rejected(specification, "literal " + jpql.substring(i, skipString(jpql, i)));
+            } else if (c == ':') {
+                int end = skipIdentifier(jpql, i + 1);
+                String name = jpql.substring(i + 1, end);
+
+                if (!declared.contains(name)) {
+                    throw rejected(specification, "parameter :" + name);
+                }
+
+                i = end;
+            } else if (c == '?') {
+                throw rejected(specification, "positional parameter");
+            } else if (Character.isDigit(c)) {
+                int end = skipNumber(jpql, i);
+
+                // conjunction() / disjunction()은 1=1, 0=1로 렌더링 (값이 아닌 구조)
+                if (!jpql.startsWith("1=1", i) && !jpql.startsWith("0=1", i)) {
+                    throw rejected(specification, "literal " + jpql.substring(i, end));
+                }
+
+                i += 3;
+            } else {
+                i++;
+            }
+        }
+
+        return jpql;
+    }
+
+    private static int skipIdentifier(String jpql, int start) {
+        int i = start;
+
+        while (i < jpql.length() && (Character.isJavaIdentifierPart(jpql.charAt(i)) || jpql.charAt(i) == '.')) {
+            i++;
+        }
+
+        return i;
+    }
+
+    /**
+     * '' 는 작은따옴표 escape
+     */
+    private static int skipString(String jpql, int start) {
+        int i = start + 1;
+
+        while (i < jpql.length()) {
+            if (jpql.charAt(i) == '\'') {
+                if (i + 1 < jpql.length() && jpql.charAt(i + 1) == '\'') {
+                    i += 2;
+                    continue;
+                }
+
+                return i + 1;
+            }
+
+            i++;
+        }
+
+        return i;
+    }
+
+    private static int skipNumber(String jpql, int start) {
+        int i = start;
+
+        while (i < jpql.length() && (Character.isLetterOrDigit(jpql.charAt(i)) || jpql.charAt(i) == '.')) {
+            i++;
+        }
+
+        return i;
+    }
+
+    private static IllegalArgumentException rejected(ShapedSpecification<?> specification, String value) {
+        return new IllegalArgumentException("specification '" + specification.shapeKey()
+                + "' uses a value that is not a declared parameter: " + value);
+    }
+}
@@ -0,0 +1,119 @@
+package com.tistory.jaimemin.springdatajpa.repository.specification;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 값이 아닌 구조(shape)로 식별되는 Specification
+ *
+ * 값은 Values에서 이름으로 꺼내서 사용
+ * - 일반 Specification으로 실행 (findAll(spec)): literal
+ * - findAllCompiled: named parameter -> 같은 shapeKey면 렌더링된 JPQL이 같으므로 캐시하고 값만 바인딩
+ */
+public interface ShapedSpecification<T> extends Specification<T> {
+
+    /**
+     * 조건 구조 식별자 (값 제외)
+     */
+    String shapeKey();
+
+    /**
+     * parameter 이름 -> 값
+     */
+    Map<String, Object> parameters();
+
+    Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder builder, Values values);
+
+    @Override
+    default Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder builder) {
+        return toPredicate(root, query, builder, Values.literals(parameters(), builder));
+    }
+
+    static <T> ShapedSpecification<T> of(String shapeKey, Map<String, Object> parameters, ShapedPredicate<T> predicate) {
+        return new DefaultShapedSpecification<>(shapeKey, parameters, predicate);
+    }
+
+    /**
+     * 조건 없음 (null predicate)
+     */
+    static <T> ShapedSpecification<T> empty() {
+        return of("", Collections.emptyMap(), (root, query, builder, values) -> null);
+    }
+
+    default ShapedSpecification<T> and(ShapedSpecification<T> other) {
+        return compose("and", other);
+    }
+
+    default ShapedSpecification<T> or(ShapedSpecification<T> other) {
+        return compose("or", other);
+    }
+
+    private ShapedSpecification<T> compose(String operator, ShapedSpecification<T> other) {
+        if (shapeKey().isEmpty()) {
+            return other;
+        }
+
+        if (other.shapeKey().isEmpty()) {
+            return this;
+        }
+
+        Map<String, Object> parameters = new HashMap<>(parameters());
+        other.parameters().forEach((name, value) -> {
+            if (parameters.containsKey(name)) {
+                throw new IllegalArgumentException("duplicate specification parameter: " + name);
+            }
+
+            parameters.put(name, value);
+        });
+
+        return of("(" + shapeKey() + " " + operator + " " + other.shapeKey() + ")", parameters, (root, query, builder, values) -> {
+            Predicate left = toPredicate(root, query, builder, values);
+            Predicate right = other.toPredicate(root, query, builder, values);
+
+            if (left == null || right == null) {
+                return left == null ? right : left;
+            }
+
+            return "and".equals(operator) ? builder.and(left, right) : builder.or(left, right);
+        });
+    }
+
+    @FunctionalInterface
+    interface ShapedPredicate<T> {
+
+        Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder builder, Values values);
+    }
+
+    interface Values {
+
+        <V> Expression<V> get(String name, Class<V> type);
+
+        static Values literals(Map<String, Object> parameters, CriteriaBuilder builder) {
+            return new Values() {
+                @Override
+                public <V> Expression<V> get(String name, Class<V> type) {
+                    Object value = parameters.get(name);
+
+                    return value == null ? builder.nullLiteral(type) : builder.literal(type.cast(value));
+                }
+            };
+        }
+
+        static Values parameters(CriteriaBuilder builder) {
+            return new Values() {
+                @Override
+                public <V> Expression<V> get(String name, Class<V> type) {
+                    return builder.parameter(type, name);
+                }
+            };
+        }
+    }
+}
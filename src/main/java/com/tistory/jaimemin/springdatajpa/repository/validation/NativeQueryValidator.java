@@ -0,0 +1,162 @@
+package com.tistory.jaimemin.springdatajpa.repository.validation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.domain.Page;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.core.support.RepositoryFactoryInformation;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 애플리케이션 기동 시 Repository의 native @Query 점검
+ * - ON / USING 없는 JOIN (카테시안 곱)
+ * - Page 반환인데 countQuery가 없거나 본 쿼리와 count 대상이 어긋나는 경우
+ *
+ * 정규식 기반의 단순한 검사라 서브쿼리 JOIN 등은 건너뜀
+ * datajpa.query-validation.mode: warn(기본) | fail | off
+ */
+@Slf4j
+@Component
+public class NativeQueryValidator implements SmartInitializingSingleton {
+
+    private static final Pattern JOIN = Pattern.compile("\\b((?:CROSS|NATURAL)\\s+)?JOIN\\b", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern OUTER_JOIN_PREFIX = Pattern.compile("\\b(LEFT|RIGHT|FULL)(\\s+OUTER)?\\s+$", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern CLAUSE_END = Pattern.compile(
+            "\\b(JOIN|LEFT|RIGHT|INNER|FULL|CROSS|NATURAL|WHERE|GROUP|ORDER|HAVING|LIMIT|OFFSET|UNION)\\b", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern JOIN_CONDITION = Pattern.compile("\\b(ON|USING)\\b", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern FROM_TABLE = Pattern.compile("\\bFROM\\s+(\\w+)", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern WHERE = Pattern.compile("\\bWHERE\\b", Pattern.CASE_INSENSITIVE);
+
+    private final ListableBeanFactory beanFactory;
+
+    private final String mode;
+
+    public NativeQueryValidator(ListableBeanFactory beanFactory,
+                                @Value("${datajpa.query-validation.mode:warn}") String mode) {
+        this.beanFactory = beanFactory;
+        this.mode = mode;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if ("off".equals(mode)) {
+            return;
+        }
+
+        List<String> problems = new ArrayList<>();
+
+        // Repositories는 domain 타입당 repository 하나만 보관하므로 factory bean 전체를 순회
+        for (RepositoryFactoryInformation<?, ?> factory : beanFactory.getBeansOfType(RepositoryFactoryInformation.class).values()) {
+            RepositoryInformation info = factory.getRepositoryInformation();
+
+            info.getQueryMethods().forEach(method -> {
+                for (String problem : validate(method)) {
+                    problems.add(info.getRepositoryInterface().getSimpleName() + "." + method.getName() + ": " + problem);
+                }
+            });
+        }
+
+        if (problems.isEmpty()) {
+            return;
+        }
+
+        if ("fail".equals(mode)) {
+            throw new IllegalStateException("invalid native queries\n" + String.join("\n", problems));
+        }
+
+        problems.forEach(problem -> log.warn("native query: {}", problem));
+    }
+
+    private List<String> validate(Method method) {
+        Query query = AnnotatedElementUtils.findMergedAnnotation(method, Query.class);
+
+        if (query == null || !query.nativeQuery()) {
+            return new ArrayList<>();
+        }
+
+        return validate(query.value(), query.countQuery(), Page.class.isAssignableFrom(method.getReturnType()));
+    }
+
+    /**
+     * @param query 본 쿼리
+     * @param countQuery 없으면 빈 문자열
+     * @param paged Page 반환 여부
+     * @return 발견된 문제
+     */
+    public static List<String> validate(String query, String countQuery, boolean paged) {
+        List<String> problems = new ArrayList<>();
+        boolean innerJoin = false;
+        Matcher join = JOIN.matcher(query);
+
+        while (join.find()) {
+            if (join.group(1) != null) {
+                continue;
+            }
+
+            if (!OUTER_JOIN_PREFIX.matcher(query.substring(0, join.start())).find()) {
+                innerJoin = true;
+            }
+
+            String target = joinTarget(query, join.end());
+
+            if (!target.startsWith("(") && !JOIN_CONDITION.matcher(target).find()) {
+                problems.add("JOIN without ON/USING -> '" + target + "'");
+            }
+        }
+
+        if (!paged) {
+            return problems;
+        }
+
+        if (countQuery.isEmpty()) {
+            problems.add("Page query without countQuery");
+
+            return problems;
+        }
+
+        String table = rootTable(query);
+        String countTable = rootTable(countQuery);
+
+        if (table != null && !table.equalsIgnoreCase(countTable)) {
+            problems.add("countQuery counts '" + countTable + "' but query reads '" + table + "'");
+        }
+
+        if (WHERE.matcher(query).find() && !WHERE.matcher(countQuery).find()) {
+            problems.add("query has WHERE but countQuery does not");
+        }
+
+        if (innerJoin && !JOIN.matcher(countQuery).find()) {
+            problems.add("query has INNER JOIN but countQuery does not");
+        }
+
+        return problems;
+    }
+
+    private static String joinTarget(String query, int from) {
+        Matcher end = CLAUSE_END.matcher(query);
+        int to = end.find(from) ? end.start() : query.length();
+
+        return query.substring(from, to).trim();
+    }
+
+    private static String rootTable(String query) {
+        Matcher matcher = FROM_TABLE.matcher(query);
+
+        return matcher.find() ? matcher.group(1) : null;
+    }
+}
@@ -0,0 +1,88 @@
+package com.tistory.jaimemin.springdatajpa.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tistory.jaimemin.springdatajpa.dto.MemberDto;
+import com.tistory.jaimemin.springdatajpa.repository.MemberRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 회원 전체 내보내기
+ * List로 모으지 않고 한 줄씩 읽어서 바로 쓰므로 건수와 무관하게 heap 사용량 일정
+ */
+@Service
+@RequiredArgsConstructor
+public class MemberExportService {
+
+    private static final int FLUSH_INTERVAL = 1000;
+
+    private final MemberRepository memberRepository;
+
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public void exportNdjson(OutputStream outputStream) throws IOException {
+        export(outputStream, null, member -> objectMapper.writeValueAsString(member));
+    }
+
+    @Transactional(readOnly = true)
+    public void exportCsv(OutputStream outputStream) throws IOException {
+        export(outputStream, "id,username,teamName", member -> String.join(",",
+                String.valueOf(member.getId()),
+                csv(member.getUsername()),
+                csv(member.getTeamName())));
+    }
+
+    private void export(OutputStream outputStream, String header, LineFormatter formatter) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+
+        if (header != null) {
+            writer.write(header);
+            writer.write('\n');
+        }
+
+        try (Stream<MemberDto> members = memberRepository.streamMemberDto()) {
+            Iterator<MemberDto> iterator = members.iterator();
+            long count = 0;
+
+            while (iterator.hasNext()) {
+                writer.write(formatter.format(iterator.next()));
+                writer.write('\n');
+
+                if (++count % FLUSH_INTERVAL == 0) {
+                    writer.flush();
+                }
+            }
+        }
+
+        writer.flush();
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    @FunctionalInterface
+    private interface LineFormatter {
+
+        String format(MemberDto member) throws IOException;
+    }
+}
@@ -0,0 +1,44 @@
+package com.tistory.jaimemin.springdatajpa.service;
+
+import com.tistory.jaimemin.springdatajpa.entity.Member;
+import com.tistory.jaimemin.springdatajpa.repository.MemberRepository;
+import com.tistory.jaimemin.springdatajpa.support.OptimisticRetryExecutor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class MemberService {
+
+    private final MemberRepository memberRepository;
+
+    private final OptimisticRetryExecutor optimisticRetryExecutor;
+
+    /**
+     * SELECT ... FOR UPDATE
+     * 커밋할 때까지 같은 row를 읽으려는 트랜잭션이 모두 대기
+     */
+    @Transactional
+    public int increaseAgePessimistic(Long id) {
+        Member member = memberRepository.findLockById(id)
+                .orElseThrow(() -> new IllegalArgumentException("member not found: " + id));
+        member.setAge(member.getAge() + 1);
+
+        return member.getAge();
+    }
+
+    /**
+     * 락 없이 읽고 UPDATE ... WHERE version = ? 로 충돌 감지, 충돌하면 재시도
+     * 트랜잭션 안에서 호출하지 말 것 (시도마다 새 트랜잭션)
+     */
+    public int increaseAgeOptimistic(Long id) {
+        return optimisticRetryExecutor.execute(() -> {
+            Member member = memberRepository.findById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("member not found: " + id));
+            member.setAge(member.getAge() + 1);
+
+            return member.getAge();
+        });
+    }
+}
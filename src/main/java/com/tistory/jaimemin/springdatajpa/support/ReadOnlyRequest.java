@@ -0,0 +1,30 @@
+package com.tistory.jaimemin.springdatajpa.support;
+
+import org.springframework.core.annotation.AliasFor;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 조회 전용 요청 (컨트롤러 메서드 또는 클래스에 선언)
+ *
+ * 메서드 전체를 readOnly 트랜잭션으로 묶음 -> HibernateJpaDialect가 Session에
+ * - setDefaultReadOnly(true): 조회한 entity의 스냅샷을 보관하지 않음 (dirty checking X)
+ * - FlushMode.MANUAL: flush 하지 않음
+ * 적용하므로 findReadOnlyByUsername의 readOnly hint를 범위 안의 모든 조회에 건 것과 같음
+ *
+ * 범위 안에서 entity를 수정해도 DB에 반영되지 않음
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Transactional(readOnly = true)
+public @interface ReadOnlyRequest {
+
+    @AliasFor(annotation = Transactional.class, attribute = "timeout")
+    int timeout() default -1;
+}
@@ -0,0 +1,23 @@
+package com.tistory.jaimemin.springdatajpa.support.audit;
+
+import org.springframework.data.domain.AuditorAware;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * 감사자 조회(SecurityContext, 헤더 등)를 트랜잭션당 한 번만 수행
+ */
+public class CachedAuditorAware<T> implements AuditorAware<T> {
+
+    private final TransactionScoped<Optional<T>> currentAuditor;
+
+    public CachedAuditorAware(Supplier<Optional<T>> auditor) {
+        this.currentAuditor = new TransactionScoped<>(auditor);
+    }
+
+    @Override
+    public Optional<T> getCurrentAuditor() {
+        return currentAuditor.get();
+    }
+}
@@ -0,0 +1,19 @@
+package com.tistory.jaimemin.springdatajpa.support.audit;
+
+import java.time.LocalDateTime;
+
+/**
+ * 감사(auditing) 시각: 트랜잭션 시작 후 처음 조회한 시각을 트랜잭션 내내 사용
+ * 같은 트랜잭션에서 저장/수정한 row는 같은 시각을 가짐 (대량 저장 시 LocalDateTime.now() 반복 호출 X)
+ */
+public final class TransactionClock {
+
+    private static final TransactionScoped<LocalDateTime> NOW = new TransactionScoped<>(LocalDateTime::now);
+
+    private TransactionClock() {
+    }
+
+    public static LocalDateTime now() {
+        return NOW.get();
+    }
+}
@@ -0,0 +1,58 @@
+package com.tistory.jaimemin.springdatajpa.support.audit;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * 트랜잭션마다 한 번만 계산하고 트랜잭션이 끝날 때까지 같은 값 재사용
+ * 트랜잭션 밖이면 매번 계산
+ *
+ * REQUIRES_NEW로 중단된 트랜잭션의 값은 내부 트랜잭션에서 보이지 않음 (suspend/resume)
+ */
+public final class TransactionScoped<T> {
+
+    private final Supplier<T> supplier;
+
+    public TransactionScoped(Supplier<T> supplier) {
+        this.supplier = supplier;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return supplier.get();
+        }
+
+        T value = (T) TransactionSynchronizationManager.getResource(this);
+
+        if (value == null) {
+            value = supplier.get();
+            bind(value);
+        }
+
+        return value;
+    }
+
+    private void bind(T value) {
+        TransactionSynchronizationManager.bindResource(this, value);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void suspend() {
+                TransactionSynchronizationManager.unbindResource(TransactionScoped.this);
+            }
+
+            @Override
+            public void resume() {
+                TransactionSynchronizationManager.bindResource(TransactionScoped.this, value);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(TransactionScoped.this);
+            }
+        });
+    }
+}
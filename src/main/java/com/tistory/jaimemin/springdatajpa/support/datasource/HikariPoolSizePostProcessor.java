@@ -0,0 +1,29 @@
+package com.tistory.jaimemin.springdatajpa.support.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * HikariDataSource의 maximumPoolSize 설정 (pool은 첫 getConnection에서 시작하므로 그 전에 적용)
+ */
+public class HikariPoolSizePostProcessor implements BeanPostProcessor {
+
+    private final int poolSize;
+
+    public HikariPoolSizePostProcessor(int poolSize) {
+        if (poolSize < 1) {
+            throw new IllegalArgumentException("poolSize must be greater than 0");
+        }
+
+        this.poolSize = poolSize;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource) {
+            ((HikariDataSource) bean).setMaximumPoolSize(poolSize);
+        }
+
+        return bean;
+    }
+}
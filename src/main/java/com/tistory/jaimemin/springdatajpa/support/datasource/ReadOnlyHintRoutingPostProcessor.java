@@ -0,0 +1,84 @@
+package com.tistory.jaimemin.springdatajpa.support.datasource;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.transaction.interceptor.DefaultTransactionAttribute;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+
+import javax.persistence.QueryHint;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @QueryHints(org.hibernate.readOnly = true)가 붙은 repository 메서드 (findReadOnlyByUsername 등)는
+ * readOnly 트랜잭션으로 실행 -> ReadWriteRoutingDataSource가 replica로 보냄
+ *
+ * 이미 트랜잭션 안에서 호출하면 그 트랜잭션에 참여 (쓰기 트랜잭션이면 primary에서 읽으므로 방금 쓴 값도 보임)
+ */
+public class ReadOnlyHintRoutingPostProcessor implements BeanPostProcessor, BeanFactoryAware {
+
+    private static final String READ_ONLY_HINT = org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+    private static final TransactionAttribute READ_ONLY;
+
+    static {
+        DefaultTransactionAttribute attribute = new DefaultTransactionAttribute();
+        attribute.setReadOnly(true);
+        READ_ONLY = attribute;
+    }
+
+    private final Map<Method, Boolean> readOnlyMethods = new ConcurrentHashMap<>();
+
+    private BeanFactory beanFactory;
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport) {
+            ((RepositoryFactoryBeanSupport<?, ?, ?>) bean).addRepositoryFactoryCustomizer(factory ->
+                    factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) ->
+                            proxyFactory.addAdvice(readOnlyInterceptor())));
+        }
+
+        return bean;
+    }
+
+    /**
+     * transaction manager는 호출 시점에 BeanFactory에서 조회
+     */
+    private TransactionInterceptor readOnlyInterceptor() {
+        TransactionInterceptor interceptor = new TransactionInterceptor();
+        interceptor.setTransactionAttributeSource((method, targetClass) -> isReadOnly(method) ? READ_ONLY : null);
+        interceptor.setBeanFactory(beanFactory);
+
+        return interceptor;
+    }
+
+    private boolean isReadOnly(Method method) {
+        return readOnlyMethods.computeIfAbsent(method, key -> {
+            QueryHints queryHints = AnnotatedElementUtils.findMergedAnnotation(key, QueryHints.class);
+
+            if (queryHints == null) {
+                return false;
+            }
+
+            for (QueryHint hint : queryHints.value()) {
+                if (READ_ONLY_HINT.equals(hint.name()) && Boolean.parseBoolean(hint.value())) {
+                    return true;
+                }
+            }
+
+            return false;
+        });
+    }
+}
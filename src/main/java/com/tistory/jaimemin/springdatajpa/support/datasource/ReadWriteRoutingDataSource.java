@@ -0,0 +1,81 @@
+package com.tistory.jaimemin.springdatajpa.support.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * readOnly 트랜잭션 -> replica, 그 외(쓰기 트랜잭션, 트랜잭션 밖) -> primary
+ * replica가 지연/장애 상태면 readOnly도 primary (fallback)
+ *
+ * 트랜잭션 시작 시점에는 readOnly 여부가 아직 설정되지 않으므로
+ * 반드시 LazyConnectionDataSourceProxy로 감싸서 첫 SQL 실행 때 connection을 얻도록 해야 함
+ *
+ * datajpa.datasource.route (tag: route = primary | replica | fallback): 실제 connection 획득 횟수
+ * datajpa.datasource.replica.lag (초), datajpa.datasource.replica.available (1 | 0)
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private final ReplicaLagMonitor replicaLagMonitor;
+
+    private final Counter primaryRoutes;
+
+    private final Counter replicaRoutes;
+
+    private final Counter fallbackRoutes;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor replicaLagMonitor,
+                                      MeterRegistry meterRegistry) {
+        this.replicaLagMonitor = replicaLagMonitor;
+        this.primaryRoutes = routeCounter(meterRegistry, "primary");
+        this.replicaRoutes = routeCounter(meterRegistry, "replica");
+        this.fallbackRoutes = routeCounter(meterRegistry, "fallback");
+        Gauge.builder("datajpa.datasource.replica.lag", replicaLagMonitor, ReplicaLagMonitor::getLagSeconds)
+                .description("Replica lag in seconds")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("datajpa.datasource.replica.available", replicaLagMonitor, monitor -> monitor.isAvailable() ? 1 : 0)
+                .description("1 if reads are routed to the replica")
+                .register(meterRegistry);
+
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        // 빈으로 등록하지 않고 LazyConnectionDataSourceProxy 안에서 쓰므로 직접 초기화
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            primaryRoutes.increment();
+
+            return Route.PRIMARY;
+        }
+
+        if (!replicaLagMonitor.isAvailable()) {
+            fallbackRoutes.increment();
+
+            return Route.PRIMARY;
+        }
+
+        replicaRoutes.increment();
+
+        return Route.REPLICA;
+    }
+
+    private static Counter routeCounter(MeterRegistry meterRegistry, String route) {
+        return Counter.builder("datajpa.datasource.route")
+                .description("Connections acquired per route")
+                .tag("route", route)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,107 @@
+package com.tistory.jaimemin.springdatajpa.support.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * replica 상태를 주기적으로 확인
+ * - lagQuery가 있으면 결과(초)가 maxLag보다 크면 사용 불가
+ * - 없으면 연결 가능 여부만 확인
+ *
+ * 사용 불가인 동안 ReadWriteRoutingDataSource는 readOnly 트랜잭션도 primary로 보냄
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final DataSource replica;
+
+    private final String lagQuery;
+
+    private final Duration maxLag;
+
+    private final Duration checkInterval;
+
+    private ScheduledExecutorService scheduler;
+
+    private volatile boolean available = true;
+
+    private volatile double lagSeconds;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, Duration maxLag, Duration checkInterval) {
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+        this.checkInterval = checkInterval;
+    }
+
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::check, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public void check() {
+        boolean wasAvailable = available;
+
+        try (Connection connection = replica.getConnection()) {
+            if (!StringUtils.hasText(lagQuery)) {
+                lagSeconds = 0;
+                available = connection.isValid((int) Math.max(1, checkInterval.getSeconds()));
+            } else {
+                lagSeconds = queryLag(connection);
+                available = lagSeconds * 1000 <= maxLag.toMillis();
+            }
+        } catch (SQLException | RuntimeException e) {
+            available = false;
+            log.warn("replica check failed: {}", e.getMessage());
+        }
+
+        if (wasAvailable != available) {
+            log.warn("replica {} (lag {} s)", available ? "available" : "unavailable, routing reads to primary", lagSeconds);
+        }
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public double getLagSeconds() {
+        return lagSeconds;
+    }
+
+    /**
+     * 결과가 없거나 NULL이면 지연 없음
+     */
+    private double queryLag(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            if (!resultSet.next()) {
+                return 0;
+            }
+
+            double lag = resultSet.getDouble(1);
+
+            return resultSet.wasNull() ? 0 : lag;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.tistory.jaimemin.springdatajpa.support.querycount;
+
+public class QueryBudgetExceededException extends RuntimeException {
+
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
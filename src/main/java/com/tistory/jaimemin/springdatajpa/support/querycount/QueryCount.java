@@ -0,0 +1,62 @@
+package com.tistory.jaimemin.springdatajpa.support.querycount;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 하나의 범위(HTTP 요청, repository 메서드, 테스트 블록)에서 실행된 SQL 통계
+ * QueryCountHolder.start()로 시작하고 close()로 종료
+ */
+public class QueryCount implements AutoCloseable {
+
+    private int statements;
+
+    private long executionNanos;
+
+    private final Map<String, Integer> statementCounts = new LinkedHashMap<>();
+
+    QueryCount() {
+    }
+
+    void addStatement(String sql) {
+        statements++;
+        statementCounts.merge(sql, 1, Integer::sum);
+    }
+
+    void addExecutionNanos(long nanos) {
+        executionNanos += nanos;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public Duration getExecutionTime() {
+        return Duration.ofNanos(executionNanos);
+    }
+
+    /**
+     * 같은 SQL이 threshold번 이상 실행됐다면 N+1 의심
+     *
+     * @param threshold
+     * @return SQL -> 실행 횟수
+     */
+    public Map<String, Integer> getRepeatedStatements(int threshold) {
+        return statementCounts.entrySet()
+                .stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+    }
+
+    @Override
+    public void close() {
+        QueryCountHolder.stop(this);
+    }
+
+    @Override
+    public String toString() {
+        return "QueryCount(statements=" + statements + ", executionTime=" + getExecutionTime() + ")";
+    }
+}
@@ -0,0 +1,109 @@
+package com.tistory.jaimemin.springdatajpa.support.querycount;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * HTTP 요청 단위 SQL 개수/실행 시간 기록
+ *
+ * datajpa.request.statements, datajpa.request.statement.time (tag: method, uri)
+ * budget을 넘으면 warn 모드는 로그, fail 모드는 QueryBudgetExceededException
+ * 같은 SQL이 repeatThreshold번 이상 반복되면 N+1 의심 로그
+ */
+@Slf4j
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    public enum Mode {
+        WARN, FAIL, OFF
+    }
+
+    private final MeterRegistry meterRegistry;
+
+    private final int budget;
+
+    private final Mode mode;
+
+    private final int repeatThreshold;
+
+    public QueryCountFilter(MeterRegistry meterRegistry, int budget, Mode mode, int repeatThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.budget = budget;
+        this.mode = mode;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryCount count = QueryCountHolder.start();
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            count.close();
+        }
+
+        String uri = uriOf(request);
+        record(request.getMethod(), uri, count);
+        check(request.getMethod(), uri, count);
+    }
+
+    private void record(String method, String uri, QueryCount count) {
+        DistributionSummary.builder("datajpa.request.statements")
+                .description("SQL statements per HTTP request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(count.getStatements());
+        Timer.builder("datajpa.request.statement.time")
+                .description("SQL execution time per HTTP request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(count.getExecutionTime());
+    }
+
+    private void check(String method, String uri, QueryCount count) {
+        if (mode == Mode.OFF) {
+            return;
+        }
+
+        Map<String, Integer> repeated = count.getRepeatedStatements(repeatThreshold);
+
+        if (!repeated.isEmpty()) {
+            log.warn("possible N+1 in {} {}: {}", method, uri, repeated);
+        }
+
+        if (count.getStatements() <= budget) {
+            return;
+        }
+
+        String message = method + " " + uri + " executed " + count.getStatements() + " statements (budget " + budget + ")";
+
+        if (mode == Mode.FAIL) {
+            throw new QueryBudgetExceededException(message);
+        }
+
+        log.warn(message);
+    }
+
+    /**
+     * 실제 경로(/members/1) 대신 매핑 패턴(/members/{id})을 tag로 사용 (tag 개수 제한)
+     */
+    private static String uriOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+
+        return pattern == null ? "UNKNOWN" : pattern.toString();
+    }
+}
@@ -0,0 +1,66 @@
+package com.tistory.jaimemin.springdatajpa.support.querycount;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * 현재 스레드에서 열려 있는 QueryCount 목록
+ * 요청 범위 안에 repository 메서드 범위가 중첩되므로 열려 있는 모든 범위에 같이 기록
+ *
+ * 테스트에서 사용 예
+ * try (QueryCount count = QueryCountHolder.start()) {
+ *     ...
+ *     assertThat(count.getStatements()).isEqualTo(1);
+ * }
+ */
+public final class QueryCountHolder {
+
+    private static final ThreadLocal<Deque<QueryCount>> SCOPES = new ThreadLocal<>();
+
+    private QueryCountHolder() {
+    }
+
+    public static QueryCount start() {
+        Deque<QueryCount> scopes = SCOPES.get();
+
+        if (scopes == null) {
+            scopes = new ArrayDeque<>();
+            SCOPES.set(scopes);
+        }
+
+        QueryCount count = new QueryCount();
+        scopes.push(count);
+
+        return count;
+    }
+
+    static void stop(QueryCount count) {
+        Deque<QueryCount> scopes = SCOPES.get();
+
+        if (scopes == null) {
+            return;
+        }
+
+        scopes.remove(count);
+
+        if (scopes.isEmpty()) {
+            SCOPES.remove();
+        }
+    }
+
+    static void onStatement(String sql) {
+        Deque<QueryCount> scopes = SCOPES.get();
+
+        if (scopes != null) {
+            scopes.forEach(count -> count.addStatement(sql));
+        }
+    }
+
+    static void onExecution(long nanos) {
+        Deque<QueryCount> scopes = SCOPES.get();
+
+        if (scopes != null) {
+            scopes.forEach(count -> count.addExecutionNanos(nanos));
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.tistory.jaimemin.springdatajpa.support.querycount;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Repository 메서드 단위 SQL 개수/실행 시간 기록
+ * datajpa.repository.statements, datajpa.repository.statement.time (tag: repository, method)
+ *
+ * 반환 후 lazy loading으로 발생하는 SQL은 호출한 쪽(요청 범위)에 기록됨
+ */
+public class QueryCountRepositoryPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public QueryCountRepositoryPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport) {
+            ((RepositoryFactoryBeanSupport<?, ?, ?>) bean).addRepositoryFactoryCustomizer(factory ->
+                    factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) ->
+                            proxyFactory.addAdvice(countingInterceptor(repositoryInformation.getRepositoryInterface().getSimpleName()))));
+        }
+
+        return bean;
+    }
+
+    private MethodInterceptor countingInterceptor(String repository) {
+        return invocation -> {
+            QueryCount count = QueryCountHolder.start();
+
+            try {
+                return invocation.proceed();
+            } finally {
+                count.close();
+                record(repository, invocation.getMethod().getName(), count);
+            }
+        };
+    }
+
+    private void record(String repository, String method, QueryCount count) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+
+        if (registry == null) {
+            return;
+        }
+
+        DistributionSummary.builder("datajpa.repository.statements")
+                .description("SQL statements per repository method call")
+                .tag("repository", repository)
+                .tag("method", method)
+                .register(registry)
+                .record(count.getStatements());
+        Timer.builder("datajpa.repository.statement.time")
+                .description("SQL execution time per repository method call")
+                .tag("repository", repository)
+                .tag("method", method)
+                .register(registry)
+                .record(count.getExecutionTime());
+    }
+}
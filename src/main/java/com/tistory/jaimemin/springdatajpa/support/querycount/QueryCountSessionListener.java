@@ -0,0 +1,34 @@
+package com.tistory.jaimemin.springdatajpa.support.querycount;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * hibernate.session.events.auto로 Session마다 생성
+ * SQL 실행(executeQuery/executeUpdate/executeBatch) 시간만 합산 (결과 처리 시간 제외)
+ */
+public class QueryCountSessionListener extends BaseSessionEventListener {
+
+    private long statementStart;
+
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        QueryCountHolder.onExecution(System.nanoTime() - statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        QueryCountHolder.onExecution(System.nanoTime() - batchStart);
+    }
+}
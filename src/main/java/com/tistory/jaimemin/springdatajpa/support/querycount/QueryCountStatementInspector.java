@@ -0,0 +1,17 @@
+package com.tistory.jaimemin.springdatajpa.support.querycount;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate가 PreparedStatement를 만들 때마다 호출 (SQL은 변경하지 않음)
+ * JDBC batch는 SQL당 한 번만 prepare 하므로 한 건으로 기록
+ */
+public class QueryCountStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryCountHolder.onStatement(sql);
+
+        return sql;
+    }
+}
@@ -0,0 +1,60 @@
+package com.tistory.jaimemin.springdatajpa.controller;
+
+import com.tistory.jaimemin.springdatajpa.entity.Member;
+import com.tistory.jaimemin.springdatajpa.repository.MemberRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class MemberControllerTest {
+
+    @Autowired
+    MemberController memberController;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Test
+    public void malformedCursorIsBadRequest() {
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> memberController.listByCursor("not-a-cursor!", 5));
+
+        assertThat(e.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    public void nonNumericCursorIsBadRequest() {
+        // "abc"를 Base64 인코딩한 값 (디코딩은 되지만 id가 아님)
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> memberController.listByCursor("YWJj", 5));
+
+        assertThat(e.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    public void findUsernameRunsSameQueryAsAsync() throws Exception {
+        Member member = memberRepository.save(new Member("controllerUsername", 210));
+
+        try {
+            assertThat(memberController.findUsername(member.getId()))
+                    .isEqualTo(memberController.findMemberAsync(member.getId()).get())
+                    .isEqualTo("controllerUsername");
+        } finally {
+            memberRepository.delete(member);
+        }
+    }
+
+    @Test
+    public void missingUsernameIsNotFound() {
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> memberController.findUsername(-1L));
+
+        assertThat(e.getStatus()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+}
@@ -0,0 +1,102 @@
+package com.tistory.jaimemin.springdatajpa.repository;
+
+import com.tistory.jaimemin.springdatajpa.config.AsyncConfig;
+import com.tistory.jaimemin.springdatajpa.entity.Member;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * executor thread의 별도 트랜잭션에서 조회하므로 @Transactional X (커밋된 데이터만 보임)
+ */
+@SpringBootTest
+class MemberRepositoryAsyncTest {
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    @Qualifier(AsyncConfig.REPOSITORY_EXECUTOR)
+    ThreadPoolTaskExecutor repositoryExecutor;
+
+    List<Long> memberIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        memberRepository.deleteAllById(memberIds);
+    }
+
+    @Test
+    public void findUsernameOnRepositoryExecutor() throws Exception {
+        memberIds.add(memberRepository.save(new Member("asyncMember", 10)).getId());
+        CountDownLatch release = occupyRepositoryExecutor();
+        CompletableFuture<String> username;
+        CompletableFuture<String> threadName;
+
+        try {
+            // executor thread가 모두 사용 중이라 조회가 끝나지 않은 상태에서 callback 등록
+            // -> future를 완료시키는 executor thread에서 callback 실행
+            username = memberRepository.findUsernameById(memberIds.get(0));
+            threadName = username.thenApply(result -> Thread.currentThread().getName());
+        } finally {
+            release.countDown();
+        }
+
+        assertThat(username.get(5, TimeUnit.SECONDS)).isEqualTo("asyncMember");
+        assertThat(threadName.get(5, TimeUnit.SECONDS)).startsWith("repository-");
+        assertThat(memberRepository.findUsernameById(-1L).get(5, TimeUnit.SECONDS)).isNull();
+    }
+
+    @Test
+    public void findMemberPageAsync() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            memberIds.add(memberRepository.save(new Member("asyncPage" + i, 300 + i)).getId());
+        }
+
+        Page<Member> page = memberRepository.findMemberPageAsync(PageRequest.of(0, 3)).get(5, TimeUnit.SECONDS);
+
+        assertThat(page.getContent()).hasSize(3);
+        assertThat(page.getTotalElements()).isGreaterThanOrEqualTo(3);
+    }
+
+    /**
+     * repositoryExecutor의 모든 thread를 release 전까지 붙잡아 둠
+     */
+    private CountDownLatch occupyRepositoryExecutor() throws InterruptedException {
+        int poolSize = repositoryExecutor.getMaxPoolSize();
+        CountDownLatch started = new CountDownLatch(poolSize);
+        CountDownLatch release = new CountDownLatch(1);
+
+        for (int i = 0; i < poolSize; i++) {
+            repositoryExecutor.execute(() -> {
+                started.countDown();
+
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+
+        if (!started.await(5, TimeUnit.SECONDS)) {
+            release.countDown();
+            throw new IllegalStateException("repositoryExecutor threads not started");
+        }
+
+        return release;
+    }
+}
@@ -1,9 +1,14 @@
 package com.tistory.jaimemin.springdatajpa.repository;
 
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.configuration.TypesafeConfigurator;
 import com.tistory.jaimemin.springdatajpa.dto.MemberDto;
 import com.tistory.jaimemin.springdatajpa.entity.Member;
 import com.tistory.jaimemin.springdatajpa.entity.Team;
+import com.typesafe.config.ConfigFactory;
 import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -13,9 +18,12 @@ import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -416,6 +424,78 @@ class MemberRepositoryTest {
         }
     }
 
+    @Test
+    public void closedNestedProjections() {
+        // given
+        Team teamA = new Team("teamA");
+        entityManager.persist(teamA);
+
+        Member member = new Member("member", 0, teamA);
+        Member member2 = new Member("member", 0);
+        entityManager.persist(member);
+        entityManager.persist(member2);
+
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        // SELECT j0.id, j0.name, m.username FROM Member m LEFT JOIN m.team j0 WHERE m.username = ?
+        List<NestedClosedProjections> result = memberRepository.findClosedProjectionsByUsername("member", NestedClosedProjections.class);
+
+        // then
+        assertThat(result).hasSize(2);
+        assertThat(result).hasOnlyElementsOfType(NestedClosedProjections_Impl.class); // @GeneratedProjection
+        assertThat(result).extracting(NestedClosedProjections::getUsername).containsOnly("member");
+        assertThat(result)
+                .extracting(projection -> projection.getTeam() == null ? null : projection.getTeam().getName())
+                .containsExactlyInAnyOrder("teamA", null);
+    }
+
+    /**
+     * team은 있지만 name이 null이면 Spring Data의 closed projection처럼 TeamInfo(name = null)
+     */
+    @Test
+    public void closedNestedProjectionsWithNullTeamName() {
+        Team unnamed = new Team(null);
+        entityManager.persist(unnamed);
+        entityManager.persist(new Member("unnamedTeamMember", 0, unnamed));
+        entityManager.persist(new Member("unnamedTeamMember", 0));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<NestedClosedProjections> generated = memberRepository.findClosedProjectionsByUsername("unnamedTeamMember", NestedClosedProjections.class);
+        List<ProxiedNestedProjection> proxied = memberRepository.findClosedProjectionsByUsername("unnamedTeamMember", ProxiedNestedProjection.class);
+        List<NestedClosedProjections> spring = memberRepository.findGenericProjectionsByUsername("unnamedTeamMember", NestedClosedProjections.class);
+
+        assertThat(generated).extracting(projection -> projection.getTeam() == null)
+                .containsExactlyInAnyOrder(false, true);
+        assertThat(proxied).extracting(projection -> projection.getTeam() == null)
+                .containsExactlyInAnyOrder(false, true);
+        assertThat(spring).extracting(projection -> projection.getTeam() == null)
+                .containsExactlyInAnyOrder(false, true);
+        assertThat(generated).filteredOn(projection -> projection.getTeam() != null)
+                .extracting(projection -> projection.getTeam().getName())
+                .containsOnlyNulls();
+        assertThat(proxied).filteredOn(projection -> projection.getTeam() != null)
+                .extracting(projection -> projection.getTeam().getName())
+                .containsOnlyNulls();
+    }
+
+    /**
+     * @GeneratedProjection 없음 -> ClosedProjectionQuery의 Map 기반 proxy
+     */
+    interface ProxiedNestedProjection {
+
+        String getUsername();
+
+        TeamName getTeam();
+
+        interface TeamName {
+
+            String getName();
+        }
+    }
+
     @Test
     public void nativeQuery() {
         // given
@@ -459,6 +539,181 @@ class MemberRepositoryTest {
         }
     }
 
+    @Test
+    public void nativePageQueryRowCount() {
+        // given
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        entityManager.persist(teamA);
+        entityManager.persist(teamB);
+
+        Member member = new Member("member", 0, teamA);
+        Member member2 = new Member("member2", 0, teamB);
+        entityManager.persist(member);
+        entityManager.persist(member2);
+
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        // ON 절이 없으면 member x team 만큼 row가 나옴
+        Page<MemberProjection> result = memberRepository.findByNativeProjection(PageRequest.of(0, 2000));
+
+        // then
+        long memberCount = memberRepository.count();
+        assertThat(result.getTotalElements()).isEqualTo(memberCount);
+        assertThat(result.getContent()).hasSize((int) memberCount);
+        assertThat(result.getContent()).extracting(MemberProjection::getId).doesNotHaveDuplicates();
+        assertThat(result.getContent())
+                .filteredOn(projection -> projection.getUsername().startsWith("member"))
+                .extracting(MemberProjection::getTeamName)
+                .containsExactlyInAnyOrder("teamA", "teamB");
+    }
+
+    @Test
+    public void cursorPaging() {
+        // given
+        memberRepository.save(new Member("member", 10));
+        memberRepository.save(new Member("member2", 10));
+        memberRepository.save(new Member("member3", 10));
+        memberRepository.save(new Member("member4", 10));
+        memberRepository.save(new Member("member5", 10));
+
+        // when
+        List<Long> ids = new ArrayList<>();
+        CursorSlice<Member> slice = memberRepository.findMemberByCursor(null, 2);
+        slice.getContent().forEach(member -> ids.add(member.getId()));
+
+        while (slice.isHasNext()) {
+            slice = memberRepository.findMemberByCursor(slice.getNextCursor(), 2);
+            slice.getContent().forEach(member -> ids.add(member.getId()));
+        }
+
+        // then
+        assertThat(ids).hasSize((int) memberRepository.count());
+        assertThat(ids).isSorted();
+        assertThat(ids).doesNotHaveDuplicates();
+    }
+
+    @Test
+    public void pagingWithCountStrategy() {
+        // given
+        memberRepository.save(new Member("member", 200));
+        memberRepository.save(new Member("member2", 200));
+        memberRepository.save(new Member("member3", 200));
+        memberRepository.save(new Member("member4", 200));
+        memberRepository.save(new Member("member5", 200));
+
+        PageRequest pageRequest = PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "username"));
+
+        // when
+        Page<Member> page = memberRepository.findMemberPageByAge(200, pageRequest);
+
+        // then
+        assertThat(page.getContent().size()).isEqualTo(3);
+        assertThat(page.getContent().get(0).getUsername()).isEqualTo("member5");
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(page.getTotalPages()).isEqualTo(2);
+    }
+
+    @Test
+    public void saveAllBatched() {
+        // given
+        Team teamA = new Team("teamA");
+        teamRepository.save(teamA);
+        long before = memberRepository.count();
+
+        List<Member> members = new ArrayList<>();
+
+        for (int i = 0; i < 10; i++) {
+            members.add(new Member("batch" + i, i, teamA));
+        }
+
+        // when
+        long saved = memberRepository.saveAllBatched(members, 3);
+
+        // then
+        assertThat(saved).isEqualTo(10);
+        assertThat(members).allMatch(member -> member.getId() != null);
+        assertThat(memberRepository.count()).isEqualTo(before + 10);
+    }
+
+    @Test
+    public void streamMemberDto() {
+        // given
+        Team teamA = new Team("teamA");
+        teamRepository.save(teamA);
+        memberRepository.save(new Member("member", 10, teamA));
+        memberRepository.save(new Member("member2", 20));
+
+        // when
+        long count;
+        List<MemberDto> streamed;
+
+        try (Stream<MemberDto> stream = memberRepository.streamMemberDto()) {
+            streamed = stream.filter(dto -> dto.getUsername().startsWith("member"))
+                    .collect(Collectors.toList());
+        }
+
+        try (Stream<MemberDto> stream = memberRepository.streamMemberDto()) {
+            count = stream.count();
+        }
+
+        // then
+        assertThat(count).isEqualTo(memberRepository.count());
+        assertThat(streamed).extracting("teamName").containsExactly("teamA", null);
+    }
+
+    @Test
+    public void secondLevelCache() {
+        // given
+        Team teamA = new Team("teamA");
+        teamRepository.save(teamA);
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+
+        // when
+        teamRepository.findById(teamA.getId()); // DB 조회 후 2차 캐시에 저장
+        entityManager.clear();
+        long hitCount = statistics.getSecondLevelCacheHitCount();
+        teamRepository.findById(teamA.getId()); // 2차 캐시 hit
+
+        // then
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(hitCount + 1);
+    }
+
+    @Test
+    public void bulkUpdateEvictsSecondLevelCache() {
+        // given
+        Member member = memberRepository.save(new Member("member", 40));
+        entityManager.flush();
+        entityManager.clear();
+        memberRepository.findById(member.getId()); // 2차 캐시에 age 40 저장
+
+        // when
+        memberRepository.bulkAgePlus(40);
+
+        // then
+        assertThat(memberRepository.findById(member.getId()).get().getAge()).isEqualTo(41);
+    }
+
+    @Test
+    public void updateTimestampsRegionNeverExpires() {
+        // default 템플릿(10,000건, 10분)을 상속하지 않아야 query cache가 오래된 결과를 반환하지 않음
+        CaffeineConfiguration<Object, Object> configuration = TypesafeConfigurator
+                .<Object, Object>from(ConfigFactory.load(), "default-update-timestamps-region")
+                .orElseThrow();
+
+        assertThat(configuration.getMaximumSize()).isEmpty();
+        assertThat(configuration.getMaximumWeight()).isEmpty();
+        assertThat(configuration.getExpireAfterWrite()).isEmpty();
+        assertThat(configuration.getExpireAfterAccess()).isEmpty();
+    }
+
 
     /**
      * 실무에서 사용하기에는 너무 복잡한  specification
@@ -0,0 +1,135 @@
+package com.tistory.jaimemin.springdatajpa.repository;
+
+import com.tistory.jaimemin.springdatajpa.dto.MemberSearchCondition;
+import com.tistory.jaimemin.springdatajpa.entity.Member;
+import com.tistory.jaimemin.springdatajpa.entity.Team;
+import com.tistory.jaimemin.springdatajpa.support.querycount.QueryCount;
+import com.tistory.jaimemin.springdatajpa.support.querycount.QueryCountHolder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Transactional
+@SpringBootTest
+class MemberSearchTest {
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        Team teamA = new Team("searchTeamA");
+        Team teamB = new Team("searchTeamB");
+        entityManager.persist(teamA);
+        entityManager.persist(teamB);
+
+        for (int i = 0; i < 10; i++) {
+            entityManager.persist(new Member("search" + i, 200 + i, i % 2 == 0 ? teamA : teamB));
+        }
+
+        entityManager.persist(new Member("search_x", 200, teamA));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    public void searchByAllConditions() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsername("search");
+        condition.setAgeGoe(202);
+        condition.setAgeLoe(207);
+        condition.setTeamName("searchTeamA");
+
+        Page<Member> page = memberRepository.findPageCompiled(MemberSpec.search(condition),
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "age")));
+
+        assertThat(page.getContent()).extracting(Member::getUsername).containsExactly("search6", "search4");
+        assertThat(page.getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    public void joinTeamOnlyWhenFiltered() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsername("search");
+
+        try (QueryCount count = QueryCountHolder.start()) {
+            Page<Member> page = memberRepository.findPageCompiled(MemberSpec.search(condition), PageRequest.of(0, 20));
+
+            assertThat(page.getTotalElements()).isEqualTo(11);
+            assertThat(count.getRepeatedStatements(1).keySet())
+                    .allSatisfy(sql -> assertThat(sql.toLowerCase()).doesNotContain("join"));
+        }
+    }
+
+    @Test
+    public void prefixWildcardIsLiteral() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsername("search_");
+
+        assertThat(memberRepository.findAllCompiled(MemberSpec.search(condition), Sort.unsorted()))
+                .extracting(Member::getUsername)
+                .containsExactly("search_x");
+    }
+
+    /**
+     * findPageCompiled가 실제로 보낸 SQL(username like ? escape ?, age>=? and age<=?, team inner join)을
+     * 같은 parameter 값으로 EXPLAIN
+     */
+    @Test
+    public void searchSqlUsesIndexes() {
+        MemberSearchCondition username = new MemberSearchCondition();
+        username.setUsername("search");
+        MemberSearchCondition ageRange = new MemberSearchCondition();
+        ageRange.setAgeGoe(202);
+        ageRange.setAgeLoe(207);
+        MemberSearchCondition teamName = new MemberSearchCondition();
+        teamName.setTeamName("searchTeamA");
+
+        assertThat(explainSearch(username, "search%", "\\"))
+                .containsIgnoringCase("IDX_MEMBER_USERNAME")
+                .doesNotContainIgnoringCase("MEMBER.tableScan");
+        assertThat(explainSearch(ageRange, 202, 207))
+                .containsIgnoringCase("IDX_MEMBER_AGE")
+                .doesNotContainIgnoringCase("MEMBER.tableScan");
+        assertThat(explainSearch(teamName, "searchTeamA"))
+                .containsIgnoringCase("IDX_MEMBER_TEAM_ID")
+                .doesNotContainIgnoringCase("MEMBER.tableScan");
+    }
+
+    /**
+     * 검색 조건 값 뒤에 남는 parameter는 페이징(limit/offset)이므로 page size로 채움 (plan에는 영향 X)
+     */
+    private String explainSearch(MemberSearchCondition condition, Object... values) {
+        String sql;
+
+        try (QueryCount count = QueryCountHolder.start()) {
+            memberRepository.findPageCompiled(MemberSpec.search(condition), PageRequest.of(0, 20));
+            sql = count.getRepeatedStatements(1).keySet().iterator().next();
+        }
+
+        long parameters = sql.chars().filter(c -> c == '?').count();
+        assertThat(parameters).as(sql).isGreaterThanOrEqualTo(values.length);
+        Object[] params = Arrays.copyOf(values, (int) parameters);
+        Arrays.fill(params, values.length, params.length, 20);
+
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, params);
+    }
+}
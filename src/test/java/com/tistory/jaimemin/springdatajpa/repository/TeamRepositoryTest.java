@@ -0,0 +1,65 @@
+package com.tistory.jaimemin.springdatajpa.repository;
+
+import com.tistory.jaimemin.springdatajpa.entity.Member;
+import com.tistory.jaimemin.springdatajpa.entity.Team;
+import com.tistory.jaimemin.springdatajpa.support.querycount.QueryCount;
+import com.tistory.jaimemin.springdatajpa.support.querycount.QueryCountHolder;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Transactional
+@SpringBootTest
+class TeamRepositoryTest {
+
+    @Autowired
+    TeamRepository teamRepository;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Test
+    public void findAllWithMembers() {
+        // given
+        for (int i = 0; i < 5; i++) {
+            Team team = new Team("pagingTeam" + i);
+            entityManager.persist(team);
+            entityManager.persist(new Member("pagingMember" + i + "-0", 10, team));
+            entityManager.persist(new Member("pagingMember" + i + "-1", 10, team));
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        PageRequest pageRequest = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "id"));
+        long totalTeams = teamRepository.count();
+
+        // when
+        try (QueryCount count = QueryCountHolder.start()) {
+            Page<Team> page = teamRepository.findAllWithMembers(pageRequest);
+
+            // then
+            assertThat(page.getContent()).hasSize(2);
+            assertThat(page.getContent()).extracting(Team::getName)
+                    .containsExactly("pagingTeam4", "pagingTeam3");
+            assertThat(page.getContent()).allSatisfy(team -> {
+                assertThat(Hibernate.isInitialized(team.getMembers())).isTrue();
+                assertThat(team.getMembers()).hasSize(2);
+            });
+            assertThat(page.getTotalElements()).isEqualTo(totalTeams);
+
+            // id 페이징 + count + fetch join
+            assertThat(count.getStatements()).isEqualTo(3);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.tistory.jaimemin.springdatajpa.repository.assigned;
+
+import com.tistory.jaimemin.springdatajpa.entity.Item;
+import com.tistory.jaimemin.springdatajpa.repository.ItemRepository;
+import com.tistory.jaimemin.springdatajpa.support.querycount.QueryCount;
+import com.tistory.jaimemin.springdatajpa.support.querycount.QueryCountHolder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Transactional
+@SpringBootTest
+class AssignedIdRepositoryTest {
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    String prefix = "assigned-" + UUID.randomUUID() + "-";
+
+    @Test
+    public void insertWithoutSelect() {
+        try (QueryCount count = QueryCountHolder.start()) {
+            itemRepository.insert(new Item(prefix + "A"));
+            entityManager.flush();
+
+            assertThat(selects(count)).isZero();
+            assertThat(count.getStatements()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void isNewUntilLoadedOrPersisted() {
+        Item item = new Item(prefix + "A");
+        assertThat(item.isNew()).isTrue();
+
+        itemRepository.save(item);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(item.isNew()).isFalse();
+        assertThat(itemRepository.findById(prefix + "A")).get().extracting(Item::isNew).isEqualTo(false);
+    }
+
+    @Test
+    public void upsertAllChecksExistenceOnce() {
+        itemRepository.persistAll(List.of(new Item(prefix + "A"), new Item(prefix + "B")), 100);
+
+        try (QueryCount count = QueryCountHolder.start()) {
+            List<Item> result = itemRepository.upsertAll(List.of(
+                    new Item(prefix + "A"), new Item(prefix + "B"), new Item(prefix + "C"), new Item(prefix + "D")));
+            entityManager.flush();
+
+            assertThat(result).extracting(Item::getId)
+                    .containsExactly(prefix + "A", prefix + "B", prefix + "C", prefix + "D");
+            // WHERE id IN (...) 한 번, merge에 의한 SELECT 없음
+            assertThat(selects(count)).isEqualTo(1);
+        }
+
+        entityManager.clear();
+        assertThat(itemRepository.findAllById(List.of(prefix + "A", prefix + "B", prefix + "C", prefix + "D"))).hasSize(4);
+    }
+
+    @Test
+    public void upsertAllFlushesEveryChunk() {
+        List<Item> stored = new ArrayList<>();
+        List<Item> items = new ArrayList<>();
+
+        for (int i = 0; i < 1500; i++) {
+            if (i < 500) {
+                stored.add(new Item(prefix + i));
+            }
+
+            items.add(new Item(prefix + i));
+        }
+
+        itemRepository.persistAll(stored, 100);
+
+        try (QueryCount count = QueryCountHolder.start()) {
+            List<Item> result = itemRepository.upsertAll(items);
+
+            assertThat(result).hasSize(1500);
+            // 1000건 단위로 WHERE id IN (...) 한 번씩, 매 chunk마다 clear
+            assertThat(selects(count)).isEqualTo(2);
+            assertThat(entityManager.contains(result.get(0))).isFalse();
+            assertThat(entityManager.contains(result.get(1499))).isFalse();
+        }
+
+        assertThat(entityManager.createQuery("select count(i) from Item i where i.id like :prefix", Long.class)
+                .setParameter("prefix", prefix + "%")
+                .getSingleResult()).isEqualTo(1500L);
+    }
+
+    @Test
+    public void upsertAllNativeKeepsCreatedDate() {
+        itemRepository.upsertAllNative(List.of(new Item(prefix + "A")));
+        entityManager.clear();
+        LocalDateTime createdDate = itemRepository.findById(prefix + "A").orElseThrow().getCreatedDate();
+
+        long upserted = itemRepository.upsertAllNative(List.of(new Item(prefix + "A"), new Item(prefix + "B")));
+        entityManager.clear();
+
+        assertThat(upserted).isEqualTo(2);
+        assertThat(createdDate).isNotNull();
+        assertThat(itemRepository.findById(prefix + "A").orElseThrow().getCreatedDate()).isEqualTo(createdDate);
+        assertThat(itemRepository.findById(prefix + "B").orElseThrow().getCreatedDate()).isNotNull();
+    }
+
+    private static long selects(QueryCount count) {
+        return count.getRepeatedStatements(1)
+                .entrySet()
+                .stream()
+                .filter(entry -> entry.getKey().trim().toLowerCase().startsWith("select"))
+                .mapToLong(entry -> entry.getValue())
+                .sum();
+    }
+}
@@ -0,0 +1,121 @@
+package com.tistory.jaimemin.springdatajpa.repository.bulk;
+
+import com.tistory.jaimemin.springdatajpa.entity.Member;
+import com.tistory.jaimemin.springdatajpa.repository.MemberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 청크마다 별도 트랜잭션으로 커밋되므로 @Transactional X (테스트 데이터는 직접 삭제)
+ */
+@SpringBootTest
+class ChunkedBulkUpdaterTest {
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    List<Member> members;
+
+    @BeforeEach
+    void setUp() {
+        // 다른 데이터와 겹치지 않도록 age 300 이상
+        members = memberRepository.saveAll(IntStream.range(0, 25)
+                .mapToObj(i -> new Member("chunk" + i, 300))
+                .collect(Collectors.toList()));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        memberRepository.deleteAllInBatch(memberRepository.findAllById(ids()));
+    }
+
+    @Test
+    public void updateInChunks() {
+        // given
+        List<Integer> chunkSizes = new ArrayList<>();
+        ChunkOptions options = ChunkOptions.of(10)
+                .withListener((chunk, updated, totalUpdated, lastId) -> chunkSizes.add(updated));
+
+        // when
+        long updated = memberRepository.bulkAgePlusChunked(300, options);
+
+        // then
+        assertThat(updated).isEqualTo(25);
+        assertThat(chunkSizes).containsExactly(10, 10, 5);
+        assertThat(memberRepository.findAllById(ids()))
+                .allSatisfy(member -> {
+                    assertThat(member.getAge()).isEqualTo(301);
+                    assertThat(member.getVersion()).isEqualTo(1L);
+                });
+    }
+
+    @Test
+    public void detachOnlyUpdatedEntities() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            // given
+            Member target = entityManager.find(Member.class, members.get(0).getId());
+            Member other = memberRepository.save(new Member("chunkOther", 10));
+
+            // when
+            memberRepository.bulkAgePlusChunked(300, ChunkOptions.of(10));
+
+            // then
+            assertThat(entityManager.contains(target)).isFalse();
+            assertThat(entityManager.contains(other)).isTrue();
+            assertThat(entityManager.find(Member.class, target.getId()).getAge()).isEqualTo(301);
+
+            status.setRollbackOnly();
+        });
+    }
+
+    @Test
+    public void evictOnlyUpdatedEntitiesFromSecondLevelCache() {
+        // given
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        Member other = memberRepository.save(new Member("chunkCached", 10));
+        Long targetId = members.get(0).getId();
+
+        try {
+            memberRepository.findById(targetId);
+            memberRepository.findById(other.getId());
+            assertThat(cache.contains(Member.class, targetId)).isTrue();
+            assertThat(cache.contains(Member.class, other.getId())).isTrue();
+
+            // when
+            memberRepository.bulkAgePlusChunked(300, ChunkOptions.of(10));
+
+            // then
+            assertThat(cache.contains(Member.class, targetId)).isFalse();
+            assertThat(cache.contains(Member.class, other.getId())).isTrue();
+            assertThat(memberRepository.findById(targetId).get().getAge()).isEqualTo(301);
+        } finally {
+            memberRepository.deleteAllInBatch(List.of(other));
+        }
+    }
+
+    private List<Long> ids() {
+        return members.stream()
+                .map(Member::getId)
+                .collect(Collectors.toList());
+    }
+}
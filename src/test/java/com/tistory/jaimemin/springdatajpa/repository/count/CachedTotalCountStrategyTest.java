@@ -0,0 +1,50 @@
+package com.tistory.jaimemin.springdatajpa.repository.count;
+
+import com.tistory.jaimemin.springdatajpa.entity.Member;
+import com.tistory.jaimemin.springdatajpa.entity.Team;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachedTotalCountStrategyTest {
+
+    @Test
+    public void cacheByQueryAndParameters() {
+        CachedTotalCountStrategy strategy = new CachedTotalCountStrategy(Duration.ofMinutes(1), 100);
+        AtomicInteger executed = new AtomicInteger();
+
+        strategy.count(CountQueryKey.of(Member.class, "count", 10), () -> executed.incrementAndGet());
+        strategy.count(CountQueryKey.of(Member.class, "count", 10), () -> executed.incrementAndGet());
+        strategy.count(CountQueryKey.of(Member.class, "count", 20), () -> executed.incrementAndGet());
+
+        assertThat(executed.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void invalidateByEntityType() {
+        CachedTotalCountStrategy strategy = new CachedTotalCountStrategy(Duration.ofMinutes(1), 100);
+        AtomicInteger executed = new AtomicInteger();
+
+        strategy.count(CountQueryKey.of(Member.class, "count"), () -> executed.incrementAndGet());
+        strategy.count(CountQueryKey.of(Team.class, "count"), () -> executed.incrementAndGet());
+        strategy.invalidate(Member.class);
+        strategy.count(CountQueryKey.of(Member.class, "count"), () -> executed.incrementAndGet());
+        strategy.count(CountQueryKey.of(Team.class, "count"), () -> executed.incrementAndGet());
+
+        assertThat(executed.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void zeroTtlDisablesCache() {
+        CachedTotalCountStrategy strategy = new CachedTotalCountStrategy(Duration.ZERO, 100);
+        AtomicInteger executed = new AtomicInteger();
+
+        strategy.count(CountQueryKey.of(Member.class, "count"), () -> executed.incrementAndGet());
+        strategy.count(CountQueryKey.of(Member.class, "count"), () -> executed.incrementAndGet());
+
+        assertThat(executed.get()).isEqualTo(2);
+    }
+}
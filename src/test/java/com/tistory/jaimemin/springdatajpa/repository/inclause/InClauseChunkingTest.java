@@ -0,0 +1,138 @@
+package com.tistory.jaimemin.springdatajpa.repository.inclause;
+
+import com.tistory.jaimemin.springdatajpa.entity.Member;
+import com.tistory.jaimemin.springdatajpa.repository.MemberRepository;
+import com.tistory.jaimemin.springdatajpa.support.querycount.QueryCount;
+import com.tistory.jaimemin.springdatajpa.support.querycount.QueryCountHolder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Transactional
+@SpringBootTest(properties = "datajpa.in-clause.chunk-size=8")
+class InClauseChunkingTest {
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    InClauseMemberRepository inClauseMemberRepository;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    List<Member> members = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 10; i++) {
+            Member member = new Member("inClause" + i, 10);
+            entityManager.persist(member);
+            members.add(member);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    public void chunkQueryMethod() {
+        try (QueryCount count = QueryCountHolder.start()) {
+            List<Member> result = memberRepository.findByNames(usernames(10));
+
+            assertThat(result).extracting(Member::getUsername).containsExactlyInAnyOrderElementsOf(usernames(10));
+            // 8 + 2
+            assertThat(count.getStatements()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    public void chunkFindAllById() {
+        List<Long> ids = members.stream()
+                .map(Member::getId)
+                .collect(Collectors.toList());
+
+        try (QueryCount count = QueryCountHolder.start()) {
+            List<Member> result = memberRepository.findAllById(ids);
+
+            assertThat(result).hasSize(10);
+            assertThat(count.getStatements()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    public void removeDuplicatesBeforeChunking() {
+        List<Long> ids = members.stream()
+                .map(Member::getId)
+                .collect(Collectors.toList());
+        List<Long> duplicated = new ArrayList<>(ids);
+        duplicated.addAll(ids);
+
+        try (QueryCount count = QueryCountHolder.start()) {
+            List<Member> result = memberRepository.findAllById(duplicated);
+
+            // 20개 -> 중복 제거 10개 -> 8 + 2
+            assertThat(result).hasSize(10);
+            assertThat(count.getStatements()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    public void sumDerivedCount() {
+        try (QueryCount count = QueryCountHolder.start()) {
+            assertThat(inClauseMemberRepository.countByUsernameIn(usernames(10))).isEqualTo(10);
+            assertThat(count.getStatements()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    public void doNotChunkLimitedResults() {
+        try (QueryCount count = QueryCountHolder.start()) {
+            List<Member> result = inClauseMemberRepository.findTop3ByUsernameInOrderByIdAsc(usernames(10));
+
+            assertThat(result).extracting(Member::getUsername).containsExactly("inClause0", "inClause1", "inClause2");
+            assertThat(count.getStatements()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void doNotChunkAggregates() {
+        try (QueryCount count = QueryCountHolder.start()) {
+            // chunk별 결과를 더하면 20, 2
+            assertThat(inClauseMemberRepository.findMaxAgeByNames(usernames(10))).isEqualTo(10);
+            assertThat(inClauseMemberRepository.countDistinctAgeByNames(usernames(10))).isEqualTo(1);
+            assertThat(count.getStatements()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    public void paddedInClauseReusesStatement() {
+        try (QueryCount count = QueryCountHolder.start()) {
+            memberRepository.findByNames(usernames(3));
+            memberRepository.findByNames(usernames(4));
+
+            // 3개도 4개로 padding -> 같은 SQL
+            assertThat(count.getRepeatedStatements(2)).hasSize(1);
+        }
+    }
+
+    private static List<String> usernames(int size) {
+        List<String> usernames = new ArrayList<>();
+
+        for (int i = 0; i < size; i++) {
+            usernames.add("inClause" + i);
+        }
+
+        return usernames;
+    }
+}
@@ -0,0 +1,28 @@
+package com.tistory.jaimemin.springdatajpa.repository.inclause;
+
+import com.tistory.jaimemin.springdatajpa.entity.Member;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * InClauseChunkingTest 전용 (테스트 classpath에서만 repository scan 대상)
+ * 아래는 chunk 결과를 합치면 틀리므로 나누지 않음 (count는 derived라 합계)
+ */
+@Repository
+public interface InClauseMemberRepository extends JpaRepository<Member, Long> {
+
+    List<Member> findTop3ByUsernameInOrderByIdAsc(Collection<String> names);
+
+    long countByUsernameIn(Collection<String> names);
+
+    @Query("SELECT MAX(m.age) FROM Member m WHERE m.username in :names")
+    Integer findMaxAgeByNames(@Param("names") List<String> names);
+
+    @Query("SELECT COUNT(DISTINCT m.age) FROM Member m WHERE m.username in :names")
+    long countDistinctAgeByNames(@Param("names") List<String> names);
+}
@@ -0,0 +1,58 @@
+package com.tistory.jaimemin.springdatajpa.repository.plan;
+
+import com.tistory.jaimemin.springdatajpa.repository.MemberRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Transactional
+@SpringBootTest
+class QueryPlanCacheMetricsTest {
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    QueryPlanCacheMetrics queryPlanCacheMetrics;
+
+    @Autowired
+    QueryPlanWarmer queryPlanWarmer;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Test
+    public void planCacheMetrics() {
+        memberRepository.findUser("member1", 10);
+        memberRepository.findUser("member1", 10);
+
+        assertThat(meterRegistry.get("datajpa.query.plan.cache.hit.ratio").gauge().value()).isGreaterThan(0);
+        assertThat(meterRegistry.get("datajpa.query.plan.cache.size").gauge().value()).isGreaterThan(0);
+        assertThat(meterRegistry.get("datajpa.query.plan.cache.max.size").gauge().value()).isEqualTo(2048);
+        assertThat(queryPlanCacheMetrics.evictions()).isGreaterThanOrEqualTo(0);
+    }
+
+    @Test
+    public void warmUpAddsPlansNotCompiledAtBootstrap() {
+        // MemberJpaRepository의 @PrecompiledQuery 상수 -> 첫 호출부터 plan cache hit
+        double size = queryPlanCacheMetrics.size();
+        memberRepository.findMemberCustom();
+
+        assertThat(queryPlanWarmer.getReport().getWarmedUp()).isGreaterThan(0);
+        assertThat(queryPlanCacheMetrics.size()).isEqualTo(size);
+    }
+
+    @Test
+    public void parseTimeNotMeasuredWithoutSlowThreshold() {
+        QueryPlanWarmer.Report report = queryPlanWarmer.getReport();
+
+        assertThat(report.getValidated()).isGreaterThan(0);
+        assertThat(report.getParseTime()).isEqualTo(Duration.ZERO);
+    }
+}
@@ -0,0 +1,89 @@
+package com.tistory.jaimemin.springdatajpa.repository.plan;
+
+import com.tistory.jaimemin.springdatajpa.repository.KeysetCursor;
+import com.tistory.jaimemin.springdatajpa.repository.MemberRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "datajpa.query-plan.slow-threshold=20ms")
+class QueryPlanWarmerTest {
+
+    @Autowired
+    QueryPlanWarmer queryPlanWarmer;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Test
+    public void allQueriesPrecompiledAtStartup() {
+        QueryPlanWarmer.Report report = queryPlanWarmer.getReport();
+
+        assertThat(report.getFailures()).isEmpty();
+        assertThat(report.getValidated()).isEqualTo(report.getTotal());
+        // @Query, countQuery, @NamedQuery, @PrecompiledQuery
+        assertThat(report.getValidated()).isGreaterThan(10);
+        // @Query, @NamedQuery는 Spring Data/Hibernate가 이미 컴파일
+        assertThat(report.getAlreadyCached()).isGreaterThan(0);
+        // @PrecompiledQuery 상수는 warm-up 전에는 컴파일되지 않음
+        assertThat(report.getWarmedUp()).isGreaterThan(0);
+        assertThat(report.getParseTime()).isGreaterThan(Duration.ZERO);
+    }
+
+    @Test
+    public void countOnlyNewPlansAsWarmedUp() {
+        String query = "SELECT m FROM Member m WHERE m.username = :username AND m.age < :warmUpAge";
+
+        QueryPlanWarmer.Report first = queryPlanWarmer.warmUp(List.of(QueryPlanWarmer.WarmUpQuery.of("new", query, false)));
+        QueryPlanWarmer.Report second = queryPlanWarmer.warmUp(List.of(QueryPlanWarmer.WarmUpQuery.of("cached", query, false)));
+
+        assertThat(first.getWarmedUp()).isEqualTo(1);
+        assertThat(second.getWarmedUp()).isZero();
+        assertThat(second.getAlreadyCached()).isEqualTo(1);
+    }
+
+    @Test
+    public void measureParseTimeWithoutPlanCache() {
+        String query = "SELECT m FROM Member m WHERE m.username = :username AND m.age > :parseTimeAge";
+        queryPlanWarmer.warmUp(List.of(QueryPlanWarmer.WarmUpQuery.of("first", query, false)));
+
+        QueryPlanWarmer.Report cached = queryPlanWarmer.warmUp(List.of(QueryPlanWarmer.WarmUpQuery.of("cached", query, false)));
+
+        // plan cache hit이어도 파싱 시간은 실제로 다시 컴파일해서 측정
+        assertThat(cached.getAlreadyCached()).isEqualTo(1);
+        assertThat(cached.getParseTime()).isGreaterThan(Duration.ZERO);
+    }
+
+    @Test
+    public void repositoryFragmentQueriesPrecompiled() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long misses = statistics.getQueryPlanCacheMissCount();
+
+        // CustomMemberRepositoryImpl.FIND_NEXT_BY_CURSOR
+        memberRepository.findMemberByCursor(KeysetCursor.encode(1L), 1);
+
+        assertThat(statistics.getQueryPlanCacheMissCount()).isEqualTo(misses);
+    }
+
+    @Test
+    public void invalidQueryReported() {
+        QueryPlanWarmer.Report report = queryPlanWarmer.warmUp(List.of(
+                QueryPlanWarmer.WarmUpQuery.of("valid", "SELECT m FROM Member m WHERE m.age = :age", false),
+                QueryPlanWarmer.WarmUpQuery.of("broken", "SELECT m FROM Member m WHERE m.nickname = :nickname", false)));
+
+        assertThat(report.getValidated()).isEqualTo(1);
+        assertThat(report.getFailures()).hasSize(1);
+        assertThat(report.getFailures().get(0)).startsWith("broken: ");
+    }
+}
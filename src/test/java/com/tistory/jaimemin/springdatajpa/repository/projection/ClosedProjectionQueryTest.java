@@ -0,0 +1,28 @@
+package com.tistory.jaimemin.springdatajpa.repository.projection;
+
+import com.tistory.jaimemin.springdatajpa.repository.NestedClosedProjections;
+import com.tistory.jaimemin.springdatajpa.repository.UsernameOnly;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClosedProjectionQueryTest {
+
+    @Test
+    public void flatProjection() {
+        ClosedProjectionQuery<UsernameOnly> query = ClosedProjectionQuery.of(UsernameOnly.class);
+
+        assertThat(query.selectClause("m")).isEqualTo("m.username");
+        assertThat(query.joinClause("m")).isEmpty();
+    }
+
+    @Test
+    public void nestedProjection() {
+        ClosedProjectionQuery<NestedClosedProjections> query = ClosedProjectionQuery.of(NestedClosedProjections.class);
+
+        // team: LEFT JOIN 대상 존재 여부 (j0.id)
+        assertThat(query.getPaths()).containsExactly("team", "team.name", "username");
+        assertThat(query.selectClause("m")).isEqualTo("j0.id, j0.name, m.username");
+        assertThat(query.joinClause("m")).isEqualTo(" LEFT JOIN m.team j0");
+    }
+}
@@ -0,0 +1,34 @@
+package com.tistory.jaimemin.springdatajpa.repository.projection;
+
+import com.tistory.jaimemin.springdatajpa.repository.NestedClosedProjections;
+import com.tistory.jaimemin.springdatajpa.repository.NestedClosedProjections_Mapper;
+import com.tistory.jaimemin.springdatajpa.repository.UsernameOnly;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeneratedProjectionTest {
+
+    @Test
+    public void generatedMapper() {
+        NestedClosedProjections_Mapper mapper = new NestedClosedProjections_Mapper();
+
+        NestedClosedProjections projection = mapper.map(new Object[]{1L, "teamA", "member"});
+        NestedClosedProjections withoutTeam = mapper.map(new Object[]{null, null, "member"});
+        NestedClosedProjections teamWithoutName = mapper.map(new Object[]{2L, null, "member"});
+
+        assertThat(projection.getUsername()).isEqualTo("member");
+        assertThat(projection.getTeam().getName()).isEqualTo("teamA");
+        assertThat(withoutTeam.getTeam()).isNull();
+        assertThat(teamWithoutName.getTeam()).isNotNull();
+        assertThat(teamWithoutName.getTeam().getName()).isNull();
+    }
+
+    @Test
+    public void sameColumnOrderAsQuery() {
+        assertThat(new NestedClosedProjections_Mapper().paths())
+                .isEqualTo(ClosedProjectionQuery.of(NestedClosedProjections.class).getPaths());
+        assertThat(ClosedProjectionQuery.of(NestedClosedProjections.class).isGenerated()).isTrue();
+        assertThat(ClosedProjectionQuery.of(UsernameOnly.class).isGenerated()).isTrue();
+    }
+}
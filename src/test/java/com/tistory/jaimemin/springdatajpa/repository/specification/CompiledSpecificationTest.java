@@ -0,0 +1,119 @@
+package com.tistory.jaimemin.springdatajpa.repository.specification;
+
+import com.tistory.jaimemin.springdatajpa.entity.Member;
+import com.tistory.jaimemin.springdatajpa.entity.Team;
+import com.tistory.jaimemin.springdatajpa.repository.MemberRepository;
+import com.tistory.jaimemin.springdatajpa.repository.MemberSpec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Transactional
+@SpringBootTest
+class CompiledSpecificationTest {
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    CompiledQueryCache compiledQueryCache;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        Team teamA = new Team("specTeamA");
+        Team teamB = new Team("specTeamB");
+        entityManager.persist(teamA);
+        entityManager.persist(teamB);
+        entityManager.persist(new Member("spec1", 10, teamA));
+        entityManager.persist(new Member("spec2", 20, teamB));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    public void sameShapeReusesCompiledQuery() {
+        // when
+        List<Member> first = memberRepository.findAllCompiled(
+                MemberSpec.username("spec1").and(MemberSpec.teamName("specTeamA")), Sort.unsorted());
+        long size = compiledQueryCache.size();
+        List<Member> second = memberRepository.findAllCompiled(
+                MemberSpec.username("spec2").and(MemberSpec.teamName("specTeamB")), Sort.unsorted());
+        List<Member> noMatch = memberRepository.findAllCompiled(
+                MemberSpec.username("spec1").and(MemberSpec.teamName("specTeamB")), Sort.unsorted());
+
+        // then
+        assertThat(first).extracting(Member::getUsername).containsExactly("spec1");
+        assertThat(second).extracting(Member::getUsername).containsExactly("spec2");
+        assertThat(noMatch).isEmpty();
+        assertThat(compiledQueryCache.size()).isEqualTo(size);
+    }
+
+    @Test
+    public void sameResultAsSpecificationExecutor() {
+        ShapedSpecification<Member> spec = MemberSpec.username("spec1").and(MemberSpec.teamName(null));
+
+        assertThat(memberRepository.findAllCompiled(spec, Sort.by("id")))
+                .containsExactlyElementsOf(memberRepository.findAll(spec, Sort.by("id")));
+    }
+
+    @Test
+    public void rejectLiteralValues() {
+        // 문자열 literal은 렌더링 시 내부 parameter로 바뀜
+        ShapedSpecification<Member> literal = ShapedSpecification.of("literalUsername", Collections.emptyMap(),
+                (root, query, builder, values) -> builder.equal(root.get("username"), "spec1"));
+        long size = compiledQueryCache.size();
+
+        // repository proxy가 IllegalArgumentException을 변환
+        assertThrows(InvalidDataAccessApiUsageException.class,
+                () -> memberRepository.findAllCompiled(literal, Sort.unsorted()));
+        assertThat(compiledQueryCache.size()).isEqualTo(size);
+    }
+
+    @Test
+    public void rejectNumericLiteralValues() {
+        // 숫자 literal은 JPQL에 그대로 inline
+        ShapedSpecification<Member> literal = ShapedSpecification.of("literalAge", Collections.emptyMap(),
+                (root, query, builder, values) -> builder.equal(root.get("age"), 10));
+        long size = compiledQueryCache.size();
+
+        assertThrows(InvalidDataAccessApiUsageException.class,
+                () -> memberRepository.findAllCompiled(literal, Sort.unsorted()));
+        assertThat(compiledQueryCache.size()).isEqualTo(size);
+    }
+
+    @Test
+    public void rejectUndeclaredParameters() {
+        ShapedSpecification<Member> undeclared = ShapedSpecification.of("undeclaredAge", Collections.emptyMap(),
+                (root, query, builder, values) -> builder.equal(root.get("age"), values.get("age", Integer.class)));
+
+        assertThrows(InvalidDataAccessApiUsageException.class,
+                () -> memberRepository.findAllCompiled(undeclared, Sort.unsorted()));
+    }
+
+    @Test
+    public void acceptDeclaredParametersOnly() {
+        ShapedSpecification<Member> spec = MemberSpec.usernameStartsWith("spec").and(MemberSpec.ageGoe(10));
+        String jpql = "select generatedAlias0 from Member as generatedAlias0"
+                + " where ( generatedAlias0.username like :usernamePrefix escape :usernameEscape )"
+                + " and ( generatedAlias0.age>=:ageGoe ) and 1=1";
+
+        assertThat(RenderedJpql.verify(jpql, spec)).isEqualTo(jpql);
+        assertThrows(IllegalArgumentException.class,
+                () -> RenderedJpql.verify(jpql + " and generatedAlias0.username <> 'x'", spec));
+    }
+}
@@ -0,0 +1,49 @@
+package com.tistory.jaimemin.springdatajpa.repository.validation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NativeQueryValidatorTest {
+
+    @Test
+    public void joinWithoutCondition() {
+        List<String> problems = NativeQueryValidator.validate(
+                "SELECT m.member_id as id, m.username, t.name as teamName FROM member m LEFT JOIN team t",
+                "SELECT COUNT(*) FROM member", true);
+
+        assertThat(problems).hasSize(1);
+        assertThat(problems.get(0)).contains("JOIN without ON/USING");
+    }
+
+    @Test
+    public void keyedJoin() {
+        List<String> problems = NativeQueryValidator.validate(
+                "SELECT m.member_id as id, m.username, t.name as teamName FROM member m LEFT JOIN team t ON m.team_id = t.team_id",
+                "SELECT COUNT(*) FROM member", true);
+
+        assertThat(problems).isEmpty();
+    }
+
+    @Test
+    public void crossJoinIsExplicit() {
+        List<String> problems = NativeQueryValidator.validate(
+                "SELECT * FROM member m CROSS JOIN team t", "", false);
+
+        assertThat(problems).isEmpty();
+    }
+
+    @Test
+    public void countQueryAlignment() {
+        assertThat(NativeQueryValidator.validate("SELECT * FROM member", "", true))
+                .containsExactly("Page query without countQuery");
+        assertThat(NativeQueryValidator.validate("SELECT * FROM member WHERE age > 10", "SELECT COUNT(*) FROM member", true))
+                .containsExactly("query has WHERE but countQuery does not");
+        assertThat(NativeQueryValidator.validate("SELECT * FROM member m JOIN team t ON m.team_id = t.team_id", "SELECT COUNT(*) FROM member", true))
+                .containsExactly("query has INNER JOIN but countQuery does not");
+        assertThat(NativeQueryValidator.validate("SELECT * FROM member", "SELECT COUNT(*) FROM team", true))
+                .containsExactly("countQuery counts 'team' but query reads 'member'");
+    }
+}
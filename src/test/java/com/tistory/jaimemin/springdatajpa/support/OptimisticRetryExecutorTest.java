@@ -0,0 +1,67 @@
+package com.tistory.jaimemin.springdatajpa.support;
+
+import com.tistory.jaimemin.springdatajpa.entity.Member;
+import com.tistory.jaimemin.springdatajpa.repository.MemberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 트랜잭션 커밋 시점의 충돌을 봐야 하므로 @Transactional X
+ */
+@SpringBootTest
+class OptimisticRetryExecutorTest {
+
+    @Autowired
+    OptimisticRetryExecutor optimisticRetryExecutor;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    Long memberId;
+
+    @AfterEach
+    void cleanUp() {
+        if (memberId != null) {
+            memberRepository.deleteById(memberId);
+        }
+    }
+
+    @Test
+    public void retryOnConflict() {
+        // given
+        memberId = memberRepository.save(new Member("optimistic", 10)).getId();
+        TransactionTemplate otherTransaction = new TransactionTemplate(transactionManager);
+        otherTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // when
+        optimisticRetryExecutor.run(() -> {
+            Member member = memberRepository.findById(memberId).get();
+
+            if (attempts.incrementAndGet() == 1) {
+                // 첫 시도 중에 다른 트랜잭션이 먼저 수정하고 커밋
+                otherTransaction.executeWithoutResult(status -> memberRepository.findById(memberId).get().setAge(100));
+            }
+
+            member.setAge(member.getAge() + 1);
+        });
+
+        // then
+        Member member = memberRepository.findById(memberId).get();
+        assertThat(attempts.get()).isEqualTo(2);
+        assertThat(member.getAge()).isEqualTo(101);
+        assertThat(member.getVersion()).isEqualTo(2L);
+    }
+}
@@ -0,0 +1,90 @@
+package com.tistory.jaimemin.springdatajpa.support;
+
+import com.tistory.jaimemin.springdatajpa.entity.Member;
+import com.tistory.jaimemin.springdatajpa.repository.MemberRepository;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 범위가 끝난 뒤 DB 반영 여부를 봐야 하므로 @Transactional X
+ */
+@SpringBootTest
+@Import(ReadOnlyRequestTest.ReadOnlyHandler.class)
+class ReadOnlyRequestTest {
+
+    @Autowired
+    ReadOnlyHandler readOnlyHandler;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    Long memberId;
+
+    @AfterEach
+    void cleanUp() {
+        if (memberId != null) {
+            memberRepository.deleteById(memberId);
+        }
+    }
+
+    @Test
+    public void readOnlySessionForWholeScope() {
+        // given
+        memberId = memberRepository.save(new Member("readOnlyRequest", 10)).getId();
+
+        // when
+        SessionState state = readOnlyHandler.handle(memberId);
+
+        // then
+        assertThat(state.defaultReadOnly).isTrue();
+        assertThat(state.flushMode).isEqualTo(FlushMode.MANUAL);
+        assertThat(state.entityReadOnly).isTrue();
+        assertThat(memberRepository.findById(memberId).get().getAge()).isEqualTo(10);
+    }
+
+    @TestConfiguration
+    static class ReadOnlyHandler {
+
+        @PersistenceContext
+        EntityManager entityManager;
+
+        @Autowired
+        MemberRepository memberRepository;
+
+        @ReadOnlyRequest
+        public SessionState handle(Long id) {
+            Session session = entityManager.unwrap(Session.class);
+            Member member = memberRepository.findById(id).get();
+            // 수정해도 반영되지 않아야 함
+            member.setAge(20);
+
+            return new SessionState(session.isDefaultReadOnly(), session.getHibernateFlushMode(), session.isReadOnly(member));
+        }
+    }
+
+    static class SessionState {
+
+        final boolean defaultReadOnly;
+
+        final FlushMode flushMode;
+
+        final boolean entityReadOnly;
+
+        SessionState(boolean defaultReadOnly, FlushMode flushMode, boolean entityReadOnly) {
+            this.defaultReadOnly = defaultReadOnly;
+            this.flushMode = flushMode;
+            this.entityReadOnly = entityReadOnly;
+        }
+    }
+}
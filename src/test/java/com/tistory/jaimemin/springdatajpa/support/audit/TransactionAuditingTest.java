@@ -0,0 +1,81 @@
+package com.tistory.jaimemin.springdatajpa.support.audit;
+
+import com.tistory.jaimemin.springdatajpa.entity.Member;
+import com.tistory.jaimemin.springdatajpa.repository.MemberRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class TransactionAuditingTest {
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    AuditorAware<String> auditorAware;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Test
+    public void sameAuditValuesWithinTransaction() {
+        List<Member> members = new TransactionTemplate(transactionManager).execute(status -> {
+            Member memberA = memberRepository.save(new Member("auditA", 200));
+            Member memberB = memberRepository.save(new Member("auditB", 200));
+            entityManager.flush();
+
+            return List.of(memberA, memberB);
+        });
+
+        try {
+            Member memberA = members.get(0);
+            Member memberB = members.get(1);
+
+            assertThat(memberA.getCreatedDate()).isNotNull().isEqualTo(memberB.getCreatedDate());
+            assertThat(memberA.getLastModifiedDate()).isEqualTo(memberA.getCreatedDate());
+            assertThat(memberA.getCreatedBy()).isNotNull()
+                    .doesNotStartWith("Optional")
+                    .isEqualTo(memberB.getCreatedBy());
+        } finally {
+            memberRepository.deleteAll(members);
+        }
+    }
+
+    @Test
+    public void newValuesPerTransaction() {
+        TransactionTemplate outer = new TransactionTemplate(transactionManager);
+        TransactionTemplate inner = new TransactionTemplate(transactionManager);
+        inner.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        outer.executeWithoutResult(status -> {
+            Optional<String> auditor = auditorAware.getCurrentAuditor();
+            LocalDateTime now = TransactionClock.now();
+
+            assertThat(auditorAware.getCurrentAuditor()).isSameAs(auditor);
+            assertThat(TransactionClock.now()).isSameAs(now);
+
+            inner.executeWithoutResult(innerStatus ->
+                    assertThat(auditorAware.getCurrentAuditor()).isNotEqualTo(auditor));
+
+            // 내부 트랜잭션이 끝나면 바깥 트랜잭션 값 복원
+            assertThat(auditorAware.getCurrentAuditor()).isSameAs(auditor);
+            assertThat(TransactionClock.now()).isSameAs(now);
+        });
+    }
+}
@@ -0,0 +1,51 @@
+package com.tistory.jaimemin.springdatajpa.support.datasource;
+
+import com.tistory.jaimemin.springdatajpa.config.AsyncConfig;
+import com.tistory.jaimemin.springdatajpa.repository.MemberRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class HikariPoolSizePostProcessorTest {
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    @Qualifier(AsyncConfig.REPOSITORY_EXECUTOR)
+    ThreadPoolTaskExecutor repositoryExecutor;
+
+    @Test
+    public void poolSizedByCoreCount() throws Exception {
+        HikariDataSource hikariDataSource = dataSource.unwrap(HikariDataSource.class);
+        int expected = Runtime.getRuntime().availableProcessors() * 2 + 1;
+
+        assertThat(hikariDataSource.getMaximumPoolSize()).isEqualTo(expected);
+        assertThat(hikariDataSource.getLeakDetectionThreshold()).isEqualTo(60_000);
+        assertThat(repositoryExecutor.getMaxPoolSize()).isEqualTo(expected);
+    }
+
+    @Test
+    public void poolMetrics() {
+        memberRepository.count();
+
+        assertThat(meterRegistry.find("hikaricp.connections.acquire").timer()).isNotNull();
+        assertThat(meterRegistry.find("hikaricp.connections.active").gauge()).isNotNull();
+        assertThat(meterRegistry.find("hikaricp.connections.usage").timer()).isNotNull();
+    }
+}
@@ -0,0 +1,124 @@
+package com.tistory.jaimemin.springdatajpa.support.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * H2 메모리 DB 두 개를 primary/replica로 사용
+ * 각 DB의 node 테이블에 자기 이름을 넣어두고 어느 쪽에서 읽었는지 확인
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    SimpleMeterRegistry meterRegistry;
+
+    JdbcTemplate replicaJdbc;
+
+    ReplicaLagMonitor replicaLagMonitor;
+
+    JdbcTemplate jdbcTemplate;
+
+    TransactionTemplate writeTransaction;
+
+    TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    public void setUp() {
+        DriverManagerDataSource primary = h2("routing-primary");
+        DriverManagerDataSource replica = h2("routing-replica");
+        replicaJdbc = new JdbcTemplate(replica);
+        replicaJdbc.execute("CREATE TABLE IF NOT EXISTS replica_lag (seconds INT)");
+        replicaJdbc.update("DELETE FROM replica_lag");
+        replicaJdbc.update("INSERT INTO replica_lag VALUES (0)");
+
+        meterRegistry = new SimpleMeterRegistry();
+        replicaLagMonitor = new ReplicaLagMonitor(replica, "SELECT seconds FROM replica_lag",
+                Duration.ofSeconds(5), Duration.ofMinutes(1));
+        replicaLagMonitor.check();
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy();
+        // 기본값 조회용 connection이 route 집계에 섞이지 않도록 지정
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        dataSource.setTargetDataSource(new ReadWriteRoutingDataSource(primary, replica, replicaLagMonitor, meterRegistry));
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Test
+    public void readOnlyTransactionUsesReplica() {
+        String node = readOnlyTransaction.execute(status -> currentNode());
+
+        assertThat(node).isEqualTo("replica");
+        assertThat(routes("replica")).isEqualTo(1);
+        assertThat(routes("primary")).isZero();
+    }
+
+    @Test
+    public void writeTransactionUsesPrimary() {
+        String node = writeTransaction.execute(status -> currentNode());
+
+        assertThat(node).isEqualTo("primary");
+        assertThat(routes("primary")).isEqualTo(1);
+        assertThat(routes("replica")).isZero();
+    }
+
+    @Test
+    public void noTransactionUsesPrimary() {
+        assertThat(currentNode()).isEqualTo("primary");
+        assertThat(routes("primary")).isEqualTo(1);
+    }
+
+    @Test
+    public void laggingReplicaFallsBackToPrimary() {
+        replicaJdbc.update("UPDATE replica_lag SET seconds = 10");
+        replicaLagMonitor.check();
+
+        String node = readOnlyTransaction.execute(status -> currentNode());
+
+        assertThat(replicaLagMonitor.isAvailable()).isFalse();
+        assertThat(node).isEqualTo("primary");
+        assertThat(routes("fallback")).isEqualTo(1);
+        assertThat(routes("replica")).isZero();
+        assertThat(meterRegistry.get("datajpa.datasource.replica.lag").gauge().value()).isEqualTo(10);
+        assertThat(meterRegistry.get("datajpa.datasource.replica.available").gauge().value()).isZero();
+
+        replicaJdbc.update("UPDATE replica_lag SET seconds = 0");
+        replicaLagMonitor.check();
+
+        assertThat(readOnlyTransaction.execute(status -> currentNode())).isEqualTo("replica");
+    }
+
+    private String currentNode() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private double routes(String route) {
+        return meterRegistry.get("datajpa.datasource.route").tag("route", route).counter().count();
+    }
+
+    private static DriverManagerDataSource h2(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20))");
+        jdbcTemplate.update("DELETE FROM node");
+        jdbcTemplate.update("INSERT INTO node VALUES (?)", name.substring("routing-".length()));
+
+        return dataSource;
+    }
+}
@@ -0,0 +1,180 @@
+package com.tistory.jaimemin.springdatajpa.support.datasource;
+
+import com.tistory.jaimemin.springdatajpa.entity.Member;
+import com.tistory.jaimemin.springdatajpa.repository.MemberJpaRepository;
+import com.tistory.jaimemin.springdatajpa.repository.MemberRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * H2 메모리 DB 두 개를 primary/replica로 띄워서 JpaTransactionManager를 거치는 경로 확인
+ * replica에만 있는 row를 읽었는지 + datajpa.datasource.route 지표로 어느 쪽에서 connection을 얻었는지 확인
+ * (ddl-auto는 primary에만 실행되므로 primary 스키마를 replica에 복사)
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-jpa-primary;DB_CLOSE_DELAY=-1",
+        "datajpa.datasource.replica.url=" + ReadWriteRoutingJpaTest.REPLICA_URL
+})
+class ReadWriteRoutingJpaTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-jpa-replica;DB_CLOSE_DELAY=-1";
+
+    static final String USERNAME = "routingReplicaMember";
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    HikariDataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    HikariDataSource replicaDataSource;
+
+    JdbcTemplate replicaJdbc;
+
+    TransactionTemplate writeTransaction;
+
+    List<Long> primaryIds = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        replicaJdbc = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+        copySchemaToReplica();
+        replicaJdbc.update("INSERT INTO member (member_id, username, age, version) VALUES (?, ?, ?, ?)",
+                1_000_000L, USERNAME, 10, 0L);
+        writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        replicaJdbc.update("DELETE FROM member WHERE username = ?", USERNAME);
+        memberRepository.deleteAllById(primaryIds);
+    }
+
+    @Test
+    public void replicaPoolUsesHikariSettings() {
+        assertThat(replicaDataSource.getJdbcUrl()).isEqualTo(REPLICA_URL);
+        assertThat(replicaDataSource.getPoolName()).isEqualTo("datajpa-replica");
+        assertThat(replicaDataSource.isReadOnly()).isTrue();
+        // spring.datasource.hikari.*
+        assertThat(replicaDataSource.getConnectionTimeout()).isEqualTo(3000);
+        assertThat(replicaDataSource.getLeakDetectionThreshold()).isEqualTo(60000);
+        assertThat(replicaDataSource.getDataSourceProperties()).containsEntry("QUERY_CACHE_SIZE", "256");
+        assertThat(replicaDataSource.getMaximumPoolSize()).isEqualTo(primaryDataSource.getMaximumPoolSize());
+    }
+
+    @Test
+    public void jpaTransactionManagerRoutesReadOnlyToReplica() {
+        assertThat(transactionManager).isInstanceOf(JpaTransactionManager.class);
+        double replica = routes("replica");
+        double primary = routes("primary");
+
+        // MemberJpaRepository의 @Transactional(readOnly = true) 메서드
+        assertThat(memberJpaRepository.findByUsernameAndAgeGreaterThan(USERNAME, 0)).hasSize(1);
+        assertThat(routes("replica")).isEqualTo(replica + 1);
+
+        // 쓰기 트랜잭션 안에서는 primary (replica에만 있는 row는 안 보임)
+        List<Member> inWriteTransaction = writeTransaction.execute(status ->
+                memberJpaRepository.findByUsernameAndAgeGreaterThan(USERNAME, 0));
+        assertThat(inWriteTransaction).isEmpty();
+        assertThat(routes("primary")).isEqualTo(primary + 1);
+    }
+
+    @Test
+    public void readOnlyHintMethodRoutesToReplica() {
+        double replica = routes("replica");
+
+        Member member = memberRepository.findReadOnlyByUsername(USERNAME);
+
+        assertThat(member).isNotNull();
+        assertThat(member.getId()).isEqualTo(1_000_000L);
+        assertThat(routes("replica")).isEqualTo(replica + 1);
+        assertThat(writeTransaction.execute(status -> memberRepository.findReadOnlyByUsername(USERNAME))).isNull();
+    }
+
+    /**
+     * open-in-view처럼 EntityManager 하나가 여러 트랜잭션에 걸쳐 있어도 트랜잭션마다 route를 다시 정함
+     */
+    @Test
+    public void routePerTransactionWithSharedEntityManager() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+
+        try {
+            double replica = routes("replica");
+            double primary = routes("primary");
+
+            writeTransaction.executeWithoutResult(status ->
+                    primaryIds.add(memberJpaRepository.save(new Member("routingPrimaryMember", 10)).getId()));
+            assertThat(routes("primary")).isEqualTo(primary + 1);
+
+            assertThat(memberJpaRepository.findByUsernameAndAgeGreaterThan(USERNAME, 0)).hasSize(1);
+            assertThat(memberRepository.findReadOnlyByUsername(USERNAME)).isNotNull();
+            assertThat(routes("replica")).isEqualTo(replica + 2);
+
+            writeTransaction.executeWithoutResult(status ->
+                    assertThat(memberJpaRepository.findByUsernameAndAgeGreaterThan(USERNAME, 0)).isEmpty());
+            assertThat(routes("primary")).isEqualTo(primary + 2);
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            EntityManagerFactoryUtils.closeEntityManager(entityManager);
+        }
+    }
+
+    private void copySchemaToReplica() {
+        Integer tables = replicaJdbc.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = 'MEMBER'", Integer.class);
+
+        if (tables != null && tables > 0) {
+            return;
+        }
+
+        JdbcTemplate primaryJdbc = new JdbcTemplate(
+                new DriverManagerDataSource("jdbc:h2:mem:routing-jpa-primary;DB_CLOSE_DELAY=-1", "sa", ""));
+
+        for (String statement : primaryJdbc.queryForList("SCRIPT NODATA", String.class)) {
+            if (!statement.startsWith("--")) {
+                replicaJdbc.execute(statement);
+            }
+        }
+    }
+
+    private double routes(String route) {
+        return meterRegistry.get("datajpa.datasource.route").tag("route", route).counter().count();
+    }
+}
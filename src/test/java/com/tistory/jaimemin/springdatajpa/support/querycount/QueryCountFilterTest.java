@@ -0,0 +1,59 @@
+package com.tistory.jaimemin.springdatajpa.support.querycount;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class QueryCountFilterTest {
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    public void recordStatementsPerRequest() throws Exception {
+        QueryCountFilter filter = new QueryCountFilter(meterRegistry, 10, QueryCountFilter.Mode.FAIL, 5);
+
+        filter.doFilter(request(), new MockHttpServletResponse(), statements(3));
+
+        assertThat(meterRegistry.get("datajpa.request.statements")
+                .tag("uri", "/members/{id}")
+                .summary()
+                .totalAmount()).isEqualTo(3);
+    }
+
+    @Test
+    public void failWhenBudgetExceeded() {
+        QueryCountFilter filter = new QueryCountFilter(meterRegistry, 2, QueryCountFilter.Mode.FAIL, 5);
+
+        assertThrows(QueryBudgetExceededException.class,
+                () -> filter.doFilter(request(), new MockHttpServletResponse(), statements(3)));
+    }
+
+    @Test
+    public void warnWhenBudgetExceeded() throws Exception {
+        QueryCountFilter filter = new QueryCountFilter(meterRegistry, 2, QueryCountFilter.Mode.WARN, 5);
+
+        filter.doFilter(request(), new MockHttpServletResponse(), statements(3));
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/members/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/members/{id}");
+
+        return request;
+    }
+
+    private static FilterChain statements(int statements) {
+        return (request, response) -> {
+            for (int i = 0; i < statements; i++) {
+                QueryCountHolder.onStatement("select " + i);
+            }
+        };
+    }
+}
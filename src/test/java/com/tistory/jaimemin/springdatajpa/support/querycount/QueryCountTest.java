@@ -0,0 +1,90 @@
+package com.tistory.jaimemin.springdatajpa.support.querycount;
+
+import com.tistory.jaimemin.springdatajpa.entity.Member;
+import com.tistory.jaimemin.springdatajpa.entity.Team;
+import com.tistory.jaimemin.springdatajpa.repository.MemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Transactional
+@SpringBootTest
+class QueryCountTest {
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 3; i++) {
+            Team team = new Team("queryCountTeam" + i);
+            entityManager.persist(team);
+            entityManager.persist(new Member("queryCount" + i, 10, team));
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    public void lazyTeamsAreBatchFetched() {
+        try (QueryCount count = QueryCountHolder.start()) {
+            List<Member> members = entityManager.createQuery("SELECT m FROM Member m WHERE m.username LIKE 'queryCount%'", Member.class)
+                    .getResultList();
+            members.forEach(member -> member.getTeam().getName());
+
+            // member 1 + team IN (...) 1 (batch fetch가 없으면 team마다 1번씩 총 4번)
+            assertThat(count.getStatements()).isEqualTo(2);
+            assertThat(count.getRepeatedStatements(2)).isEmpty();
+        }
+    }
+
+    @Test
+    public void lazyMembersAreBatchFetched() {
+        try (QueryCount count = QueryCountHolder.start()) {
+            List<Team> teams = entityManager.createQuery("SELECT t FROM Team t WHERE t.name LIKE 'queryCountTeam%'", Team.class)
+                    .getResultList();
+            teams.forEach(team -> assertThat(team.getMembers()).hasSize(1));
+
+            // team 1 + members IN (...) 1
+            assertThat(count.getStatements()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    public void fetchJoinExecutesOneStatement() {
+        try (QueryCount count = QueryCountHolder.start()) {
+            List<Member> members = memberRepository.findMemberFetchJoin();
+            members.forEach(member -> member.getTeam().getName());
+
+            assertThat(count.getStatements()).isEqualTo(1);
+            assertThat(count.getRepeatedStatements(2)).isEmpty();
+        }
+    }
+
+    @Test
+    public void nestedScopes() {
+        try (QueryCount outer = QueryCountHolder.start()) {
+            memberRepository.count();
+
+            try (QueryCount inner = QueryCountHolder.start()) {
+                memberRepository.count();
+
+                assertThat(inner.getStatements()).isEqualTo(1);
+            }
+
+            assertThat(outer.getStatements()).isEqualTo(2);
+        }
+    }
+}